@@ -0,0 +1,41 @@
+package com.github.coderodde.javafx;
+
+import java.util.Random;
+
+/**
+ * This class creates the pseudorandom data sets shared by the benchmarks.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+final class BenchmarkData {
+
+    static final long SEED = 13L;
+    static final double MAXIMUM_VALUE = 200.0;
+
+    private BenchmarkData() {}
+
+    /**
+     * Creates a data set of {@code numberOfSectors} random sectors.
+     *
+     * @param numberOfSectors the number of sectors.
+     * @param random          the random number generator.
+     * @return the data set.
+     */
+    static PieChart3DData create(int numberOfSectors, Random random) {
+        PieChart3DData data = new PieChart3DData(numberOfSectors);
+
+        for (int i = 0; i < numberOfSectors; i++) {
+            data.add(randomValue(random),
+                     randomValue(random),
+                     randomValue(random));
+        }
+
+        return data;
+    }
+
+    static double randomValue(Random random) {
+        return 1.0 + random.nextDouble() * (MAXIMUM_VALUE - 1.0);
+    }
+}
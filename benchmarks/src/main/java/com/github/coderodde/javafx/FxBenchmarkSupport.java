@@ -0,0 +1,107 @@
+package com.github.coderodde.javafx;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import javafx.application.Platform;
+
+/**
+ * This class starts the JavaFX toolkit on the Monocle headless platform and
+ * runs the benchmarked operations on the JavaFX application thread.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+final class FxBenchmarkSupport {
+
+    private static final long STARTUP_TIMEOUT_SECONDS = 30L;
+
+    private static boolean started;
+
+    private FxBenchmarkSupport() {}
+
+    /**
+     * Starts the JavaFX toolkit unless it is already running. The headless
+     * platform is selected unless the corresponding system properties are
+     * set explicitly.
+     */
+    static synchronized void startToolkit() {
+        if (started) {
+            return;
+        }
+
+        setDefaultProperty("glass.platform", "Monocle");
+        setDefaultProperty("monocle.platform", "Headless");
+        setDefaultProperty("prism.order", "sw");
+        setDefaultProperty("prism.text", "t2k");
+
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Platform.setImplicitExit(false);
+        Platform.startup(latch::countDown);
+
+        try {
+            if (!latch.await(STARTUP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException(
+                        "The JavaFX toolkit did not start.");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+
+        started = true;
+    }
+
+    /**
+     * Runs {@code callable} on the JavaFX application thread and waits for
+     * its result.
+     *
+     * @param <T>      the result type.
+     * @param callable the operation to run.
+     * @return the result of the operation.
+     */
+    static <T> T callOnFxThread(Callable<T> callable) {
+        if (Platform.isFxApplicationThread()) {
+            try {
+                return callable.call();
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        FutureTask<T> task = new FutureTask<>(callable);
+        Platform.runLater(task);
+
+        try {
+            return task.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    /**
+     * Runs {@code runnable} on the JavaFX application thread and waits for
+     * it to complete.
+     *
+     * @param runnable the operation to run.
+     */
+    static void runOnFxThread(Runnable runnable) {
+        callOnFxThread(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    private static void setDefaultProperty(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
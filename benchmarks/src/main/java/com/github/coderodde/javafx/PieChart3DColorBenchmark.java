@@ -0,0 +1,64 @@
+package com.github.coderodde.javafx;
+
+import java.util.concurrent.TimeUnit;
+import javafx.scene.paint.Color;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class compares deriving a new sector color per intensity with looking
+ * it up from a quantized palette. Run it with {@code -prof gc} to see the
+ * allocation rate of each.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PieChart3DColorBenchmark {
+
+    private static final int NUMBER_OF_INTENSITIES = 1024;
+    private static final int NUMBER_OF_PALETTE_LEVELS = 256;
+
+    private final double[] intensities = new double[NUMBER_OF_INTENSITIES];
+    private PieChart3DPalette palette;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (int i = 0; i < NUMBER_OF_INTENSITIES; i++) {
+            intensities[i] = (double) i / (NUMBER_OF_INTENSITIES - 1);
+        }
+
+        palette = new PieChart3DPalette(Color.RED, NUMBER_OF_PALETTE_LEVELS);
+    }
+
+    @Benchmark
+    public Color obtainColor() {
+        return PieChart3DLayout.obtainColor(Color.RED, nextIntensity());
+    }
+
+    @Benchmark
+    public Color paletteColor() {
+        return palette.getColor(nextIntensity());
+    }
+
+    private double nextIntensity() {
+        cursor = (cursor + 1) & (NUMBER_OF_INTENSITIES - 1);
+        return intensities[cursor];
+    }
+}
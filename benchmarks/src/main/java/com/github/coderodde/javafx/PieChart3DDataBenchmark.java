@@ -0,0 +1,122 @@
+package com.github.coderodde.javafx;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks the mutations and the aggregate queries of
+ * {@link PieChart3DData}. It needs no JavaFX toolkit.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PieChart3DDataBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int numberOfSectors;
+
+    private PieChart3DData data;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new Random(BenchmarkData.SEED);
+        data = BenchmarkData.create(numberOfSectors, random);
+    }
+
+    /**
+     * Sets a random sector and queries all the aggregates, like a redraw
+     * following a single update does.
+     */
+    @Benchmark
+    public double setAndQuery() {
+        data.set(random.nextInt(numberOfSectors),
+                 BenchmarkData.randomValue(random),
+                 BenchmarkData.randomValue(random),
+                 BenchmarkData.randomValue(random));
+
+        return data.getSectorAngleValueSum()
+             + data.getMaximumSectorRadiusValue()
+             + data.getMaximumSectorColorIntensityValue();
+    }
+
+    /**
+     * Appends a sector and removes the last one, keeping the size constant.
+     */
+    @Benchmark
+    public double appendRemoveLast() {
+        data.add(BenchmarkData.randomValue(random),
+                 BenchmarkData.randomValue(random),
+                 BenchmarkData.randomValue(random));
+
+        double maximum = data.getMaximumSectorRadiusValue();
+        data.remove(data.size() - 1);
+        return maximum + data.getMaximumSectorRadiusValue();
+    }
+
+    /**
+     * Inserts a sector at a random position and removes a random sector,
+     * keeping the size constant.
+     */
+    @Benchmark
+    public double insertRemoveMiddle() {
+        data.add(random.nextInt(numberOfSectors),
+                 BenchmarkData.randomValue(random),
+                 BenchmarkData.randomValue(random),
+                 BenchmarkData.randomValue(random));
+
+        data.remove(random.nextInt(numberOfSectors + 1));
+        return data.getMaximumSectorRadiusValue();
+    }
+
+    /**
+     * Queries the aggregates of an unchanged data set.
+     */
+    @Benchmark
+    public double queryUnchanged() {
+        return data.getSectorAngleValueSum()
+             + data.getMaximumSectorRadiusValue()
+             + data.getMaximumSectorColorIntensityValue();
+    }
+
+    /**
+     * Scans the raw columns for the aggregates, which is what the aggregate
+     * queries replace.
+     */
+    @Benchmark
+    public double linearScan() {
+        double[] radii = data.sectorRadiusValues();
+        double[] angles = data.sectorAngleValues();
+        double[] intensities = data.sectorColorIntensityValues();
+        double sum = 0.0;
+        double maximumRadius = 0.0;
+        double maximumIntensity = 0.0;
+
+        for (int i = 0, size = data.size(); i < size; i++) {
+            sum += angles[i];
+            maximumRadius = Math.max(maximumRadius, radii[i]);
+            maximumIntensity = Math.max(maximumIntensity, intensities[i]);
+        }
+
+        return sum + maximumRadius + maximumIntensity;
+    }
+}
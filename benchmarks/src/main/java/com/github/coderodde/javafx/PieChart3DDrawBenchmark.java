@@ -0,0 +1,126 @@
+package com.github.coderodde.javafx;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.paint.Color;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks {@link PieChart3D#draw()} on the headless JavaFX
+ * platform: full redraws, rotation-only redraws, single sector updates and
+ * the no-op redraw of an unchanged chart.
+ * <p>
+ * Each operation is run on the JavaFX application thread. The drawing
+ * commands are recorded into the canvas buffer by {@code draw()}; the
+ * {@code *Rendered} variants also take a snapshot so that the software
+ * pipeline rasterizes the recorded commands.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PieChart3DDrawBenchmark {
+
+    private static final double DIMENSION = 400.0;
+    private static final double ROTATION_STEP = 0.1;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int numberOfSectors;
+
+    @Param({"0.0", "0.5"})
+    public double minimumSectorArcLength;
+
+    private PieChart3D chart;
+    private Random random;
+    private boolean flipBoxColor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FxBenchmarkSupport.startToolkit();
+        random = new Random(BenchmarkData.SEED);
+        PieChart3DData data = BenchmarkData.create(numberOfSectors, random);
+
+        FxBenchmarkSupport.runOnFxThread(() -> {
+            chart = new PieChart3D(DIMENSION, data);
+            chart.setMinimumSectorArcLength(minimumSectorArcLength);
+            chart.draw();
+        });
+    }
+
+    @Benchmark
+    public void fullRedraw() {
+        FxBenchmarkSupport.runOnFxThread(this::doFullRedraw);
+    }
+
+    @Benchmark
+    public Object fullRedrawRendered() {
+        return FxBenchmarkSupport.callOnFxThread(() -> {
+            doFullRedraw();
+            return chart.snapshot(null, null);
+        });
+    }
+
+    @Benchmark
+    public void rotationRedraw() {
+        FxBenchmarkSupport.runOnFxThread(this::doRotationRedraw);
+    }
+
+    @Benchmark
+    public Object rotationRedrawRendered() {
+        return FxBenchmarkSupport.callOnFxThread(() -> {
+            doRotationRedraw();
+            return chart.snapshot(null, null);
+        });
+    }
+
+    @Benchmark
+    public void setSectorRedraw() {
+        FxBenchmarkSupport.runOnFxThread(() -> {
+            PieChart3DData data = chart.getData();
+            int index = random.nextInt(data.size());
+
+            // Keep the angle so that the sum and the maxima stay put and the
+            // partial repaint path is eligible:
+            data.set(index,
+                     random.nextDouble()
+                             * data.getMaximumSectorRadiusValue(),
+                     data.getSectorAngleValue(index),
+                     data.getSectorColorIntensityValue(index));
+            chart.draw();
+        });
+    }
+
+    @Benchmark
+    public void unchangedRedraw() {
+        FxBenchmarkSupport.runOnFxThread(chart::draw);
+    }
+
+    private void doFullRedraw() {
+        // Changing any setting invalidates the whole chart:
+        flipBoxColor = !flipBoxColor;
+        chart.setBoxBackgroundColor(flipBoxColor ? Color.WHITE : Color.BLACK);
+        chart.draw();
+    }
+
+    private void doRotationRedraw() {
+        chart.setAngleOffset(chart.getAngleOffset() + ROTATION_STEP);
+        chart.draw();
+    }
+}
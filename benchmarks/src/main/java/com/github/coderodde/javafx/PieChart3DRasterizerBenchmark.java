@@ -0,0 +1,68 @@
+package com.github.coderodde.javafx;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks the pure-Java rasterizer, single-threaded and tiled.
+ * It needs no JavaFX toolkit.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PieChart3DRasterizerBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int numberOfSectors;
+
+    @Param({"400", "2000"})
+    public int dimension;
+
+    private PieChart3DData data;
+    private PieChart3DRasterizer rasterizer;
+    private PieChart3DTiledRenderer tiledRenderer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = BenchmarkData.create(numberOfSectors,
+                                    new Random(BenchmarkData.SEED));
+
+        rasterizer = new PieChart3DRasterizer(dimension);
+        tiledRenderer = new PieChart3DTiledRenderer(rasterizer);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        tiledRenderer.close();
+    }
+
+    @Benchmark
+    public int[] render() {
+        return rasterizer.render(data);
+    }
+
+    @Benchmark
+    public int[] renderTiled() {
+        return tiledRenderer.render(data);
+    }
+}
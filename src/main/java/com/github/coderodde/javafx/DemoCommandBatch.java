@@ -0,0 +1,253 @@
+package com.github.coderodde.javafx;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import javafx.application.Platform;
+import javafx.scene.paint.Color;
+
+/**
+ * This class buffers the parsed commands of the controlled demo in parallel
+ * arrays, so that scripts of any length are parsed without an object per
+ * command. A batch is filled by the reading thread and applied to the chart
+ * on the JavaFX application thread as a single {@link PieChart3DData} batch
+ * followed by a single draw request.
+ * <p>
+ * The opcodes double as the tags of the binary command stream, in which
+ * each command is its opcode byte followed by its big-endian arguments:
+ * <pre>
+ * ADD                  double radius, double angle, double intensity
+ * ADD_AT, SET          int index, double radius, double angle,
+ *                      double intensity
+ * REMOVE, PRINT        int index
+ * SIZE, QUIT           (none)
+ * SET_ANGLE, ADD_ANGLE double angle
+ * SET_COLOR, SET_BOX_COLOR, SET_CHART_BACKGROUND
+ *                      int RGB
+ * </pre>
+ * The {@link #ERROR} opcode is not a part of the stream: it records an input
+ * that failed to parse, so that its message is reported in order with the
+ * results and the errors of the surrounding commands.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+final class DemoCommandBatch {
+
+    static final byte QUIT                 = 0;
+    static final byte ADD                  = 1;
+    static final byte ADD_AT               = 2;
+    static final byte SET                  = 3;
+    static final byte REMOVE               = 4;
+    static final byte PRINT                = 5;
+    static final byte SIZE                 = 6;
+    static final byte SET_ANGLE            = 7;
+    static final byte ADD_ANGLE            = 8;
+    static final byte SET_COLOR            = 9;
+    static final byte SET_BOX_COLOR        = 10;
+    static final byte SET_CHART_BACKGROUND = 11;
+    static final byte ERROR                = 12;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private byte[] opcodes = new byte[INITIAL_CAPACITY];
+    private int[] indices = new int[INITIAL_CAPACITY];
+    private double[] firstValues = new double[INITIAL_CAPACITY];
+    private double[] secondValues = new double[INITIAL_CAPACITY];
+    private double[] thirdValues = new double[INITIAL_CAPACITY];
+
+    /**
+     * The numbers of the input lines, or of the binary commands, for
+     * reporting the errors.
+     */
+    private long[] lineNumbers = new long[INITIAL_CAPACITY];
+
+    /**
+     * The messages of the {@link #ERROR} commands, {@code null} elsewhere.
+     */
+    private String[] messages = new String[INITIAL_CAPACITY];
+
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        Arrays.fill(messages, 0, size, null);
+        size = 0;
+    }
+
+    void add(byte opcode,
+             int index,
+             double firstValue,
+             double secondValue,
+             double thirdValue,
+             long lineNumber) {
+        if (size == opcodes.length) {
+            int capacity = 2 * size;
+            opcodes      = Arrays.copyOf(opcodes, capacity);
+            indices      = Arrays.copyOf(indices, capacity);
+            firstValues  = Arrays.copyOf(firstValues, capacity);
+            secondValues = Arrays.copyOf(secondValues, capacity);
+            thirdValues  = Arrays.copyOf(thirdValues, capacity);
+            lineNumbers  = Arrays.copyOf(lineNumbers, capacity);
+            messages     = Arrays.copyOf(messages, capacity);
+        }
+
+        opcodes[size]      = opcode;
+        indices[size]      = index;
+        firstValues[size]  = firstValue;
+        secondValues[size] = secondValue;
+        thirdValues[size]  = thirdValue;
+        lineNumbers[size]  = lineNumber;
+        size++;
+    }
+
+    /**
+     * Adds a color command.
+     *
+     * @param opcode     the opcode of the command.
+     * @param color      the color argument.
+     * @param lineNumber the number of the line of the command.
+     */
+    void add(byte opcode, Color color, long lineNumber) {
+        add(opcode,
+            0,
+            color.getRed(),
+            color.getGreen(),
+            color.getBlue(),
+            lineNumber);
+    }
+
+    /**
+     * Adds an input that failed to parse.
+     *
+     * @param message    the error message.
+     * @param lineNumber the number of the failed line.
+     */
+    void addError(String message, long lineNumber) {
+        add(ERROR, 0, 0.0, 0.0, 0.0, lineNumber);
+        messages[size - 1] = message;
+    }
+
+    /**
+     * Applies the commands of this batch to {@code chart} in order and
+     * requests a single draw. A failing command and a recorded parse error
+     * are reported to {@code err} with their line numbers and do not affect
+     * the other commands. Must be called on the JavaFX application thread.
+     *
+     * @param chart     the chart to modify.
+     * @param out       the stream for the query results.
+     * @param err       the stream for the errors.
+     * @param lineLabel the word preceding the line numbers in the errors.
+     */
+    void applyTo(PieChart3D chart,
+                 PrintStream out,
+                 PrintStream err,
+                 String lineLabel) {
+        boolean[] quit = new boolean[1];
+
+        chart.getData().batch(data -> {
+            for (int i = 0; i < size && !quit[0]; i++) {
+                if (opcodes[i] == ERROR) {
+                    err.println(lineLabel + " " + lineNumbers[i] + ": "
+                                                 + messages[i]);
+                    continue;
+                }
+
+                try {
+                    quit[0] = apply(i, chart, data, out);
+                } catch (RuntimeException ex) {
+                    err.println(lineLabel + " " + lineNumbers[i] + ": "
+                                                 + ex.getMessage());
+                }
+            }
+        });
+
+        chart.requestDraw();
+
+        if (quit[0]) {
+            out.println("Bye!");
+            Platform.exit();
+            System.exit(0);
+        }
+    }
+
+    /**
+     * Applies the {@code i}th command.
+     *
+     * @return {@code true} if the command is {@link #QUIT}.
+     */
+    private boolean apply(int i,
+                          PieChart3D chart,
+                          PieChart3DData data,
+                          PrintStream out) {
+        int index = indices[i];
+        double firstValue = firstValues[i];
+        double secondValue = secondValues[i];
+        double thirdValue = thirdValues[i];
+
+        switch (opcodes[i]) {
+            case QUIT:
+                return true;
+
+            case ADD:
+                data.add(firstValue, secondValue, thirdValue);
+                break;
+
+            case ADD_AT:
+                data.add(index, firstValue, secondValue, thirdValue);
+                break;
+
+            case SET:
+                data.set(index, firstValue, secondValue, thirdValue);
+                break;
+
+            case REMOVE:
+                data.remove(index);
+                break;
+
+            case PRINT:
+                out.println("> " + data.get(index));
+                break;
+
+            case SIZE:
+                out.println(data.size());
+                break;
+
+            case SET_ANGLE:
+                chart.setAngleOffset(firstValue);
+                break;
+
+            case ADD_ANGLE:
+                chart.setAngleOffset(chart.getAngleOffset() + firstValue);
+                break;
+
+            case SET_COLOR:
+                chart.setOriginalIntensityColor(
+                        new Color(firstValue, secondValue, thirdValue, 1.0));
+                break;
+
+            case SET_BOX_COLOR:
+                chart.setBoxBackgroundColor(
+                        new Color(firstValue, secondValue, thirdValue, 1.0));
+                break;
+
+            case SET_CHART_BACKGROUND:
+                chart.setChartBackgroundColor(
+                        new Color(firstValue, secondValue, thirdValue, 1.0));
+                break;
+
+            default:
+                throw new IllegalStateException(
+                        "Unknown opcode: " + opcodes[i] + ".");
+        }
+
+        return false;
+    }
+}
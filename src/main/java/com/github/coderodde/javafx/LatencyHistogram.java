@@ -0,0 +1,107 @@
+package com.github.coderodde.javafx;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class implements a thread-safe histogram of durations in nanoseconds
+ * with logarithmic buckets: the bucket {@code k} counts the durations within
+ * {@code [2^k, 2^(k + 1))}. Recording a duration takes constant time and
+ * allocates nothing.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+final class LatencyHistogram {
+
+    static final int NUMBER_OF_BUCKETS = Long.SIZE;
+
+    private final AtomicLongArray buckets =
+            new AtomicLongArray(NUMBER_OF_BUCKETS);
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator maximum = new LongAccumulator(Long::max, 0L);
+
+    void record(long nanos) {
+        nanos = Math.max(nanos, 1L);
+        buckets.incrementAndGet(63 - Long.numberOfLeadingZeros(nanos));
+        count.increment();
+        sum.add(nanos);
+        maximum.accumulate(nanos);
+    }
+
+    long getCount() {
+        return count.sum();
+    }
+
+    double getMean() {
+        long n = count.sum();
+        return n == 0L ? 0.0 : (double) sum.sum() / n;
+    }
+
+    long getMaximum() {
+        return maximum.get();
+    }
+
+    /**
+     * Returns an upper bound of the {@code percentile}th percentile, that is,
+     * the upper end of the bucket holding it.
+     *
+     * @param percentile the percentile within {@code [0, 100]}.
+     * @return the upper bound of the percentile, or zero if empty.
+     */
+    long getPercentile(double percentile) {
+        if (!(percentile >= 0.0 && percentile <= 100.0)) {
+            throw new IllegalArgumentException(
+                    "Invalid percentile: " + percentile + ".");
+        }
+
+        long[] counts = toArray();
+        long total = 0L;
+
+        for (long bucketCount : counts) {
+            total += bucketCount;
+        }
+
+        if (total == 0L) {
+            return 0L;
+        }
+
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0L;
+
+        for (int bucket = 0; bucket < NUMBER_OF_BUCKETS; bucket++) {
+            seen += counts[bucket];
+
+            if (seen >= rank && counts[bucket] > 0L) {
+                // The durations are positive, so the bucket is at most 62:
+                return (1L << (bucket + 1)) - 1L;
+            }
+        }
+
+        return getMaximum();
+    }
+
+    long[] toArray() {
+        long[] counts = new long[NUMBER_OF_BUCKETS];
+
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+        }
+
+        return counts;
+    }
+
+    void reset() {
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            buckets.set(i, 0L);
+        }
+
+        count.reset();
+        sum.reset();
+        maximum.reset();
+    }
+}
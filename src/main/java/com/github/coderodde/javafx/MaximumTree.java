@@ -0,0 +1,150 @@
+package com.github.coderodde.javafx;
+
+/**
+ * This class implements a segment tree over a prefix of a {@code double}
+ * array that answers the maximum of the prefix in constant time and supports
+ * point updates in logarithmic time. Insertions and removals in the middle of
+ * the array shift the indices of the subsequent values, so those only mark
+ * the tree as stale; it is rebuilt in linear time on the next query.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+final class MaximumTree {
+
+    /**
+     * The array holding the tree. The leaves start at index
+     * {@code numberOfLeaves}, the root is at index 1.
+     */
+    private double[] tree = new double[2];
+
+    /**
+     * The number of leaves. Always a power of two.
+     */
+    private int numberOfLeaves = 1;
+
+    /**
+     * Indicates whether the tree must be rebuilt before the next query.
+     */
+    private boolean stale = true;
+
+    /**
+     * Returns the maximum of the first {@code size} elements of
+     * {@code values}, or {@link Double#NEGATIVE_INFINITY} if {@code size} is
+     * zero.
+     *
+     * @param values the values; must be the same array as in the last update.
+     * @param size   the number of meaningful values.
+     * @return the maximum value.
+     */
+    double getMaximum(double[] values, int size) {
+        if (stale) {
+            rebuild(values, size);
+        }
+
+        return tree[1];
+    }
+
+    /**
+     * Returns the index of a maximum among the first {@code size} elements of
+     * {@code values}, or -1 if {@code size} is zero. Runs in logarithmic 
+     * time unless the tree has to be rebuilt.
+     *
+     * @param values the values; must be the same array as in the last update.
+     * @param size   the number of meaningful values.
+     * @return the index of a maximum value.
+     */
+    int getMaximumIndex(double[] values, int size) {
+        if (size == 0) {
+            return -1;
+        }
+
+        if (stale) {
+            rebuild(values, size);
+        }
+
+        int node = 1;
+
+        while (node < numberOfLeaves) {
+            node = tree[2 * node] >= tree[2 * node + 1] ? 
+                   2 * node : 
+                   2 * node + 1;
+        }
+
+        return node - numberOfLeaves;
+    }
+
+    /**
+     * Notifies this tree that {@code values[index]} has been assigned
+     * {@code value}, and that the array now has {@code size} meaningful
+     * values.
+     *
+     * @param index the index of the updated value.
+     * @param value the new value.
+     * @param size  the number of meaningful values.
+     */
+    void update(int index, double value, int size) {
+        if (stale) {
+            return;
+        }
+
+        if (size > numberOfLeaves) {
+            stale = true;
+            return;
+        }
+
+        int node = numberOfLeaves + index;
+        tree[node] = value;
+        node >>= 1;
+
+        while (node > 0) {
+            tree[node] = Math.max(tree[2 * node], tree[2 * node + 1]);
+            node >>= 1;
+        }
+    }
+
+    /**
+     * Notifies this tree that the last value was removed.
+     *
+     * @param index the index of the removed last value.
+     */
+    void removeLast(int index) {
+        update(index, Double.NEGATIVE_INFINITY, index);
+    }
+
+    /**
+     * Notifies this tree that the values were shifted and so it has to be
+     * rebuilt.
+     */
+    void invalidate() {
+        stale = true;
+    }
+
+    private void rebuild(double[] values, int size) {
+        int leaves = numberOfLeaves;
+
+        while (leaves < size) {
+            leaves <<= 1;
+        }
+
+        if (leaves != numberOfLeaves) {
+            numberOfLeaves = leaves;
+            tree = new double[2 * leaves];
+        }
+
+        for (int i = 0; i < size; i++) {
+            tree[leaves + i] = values[i];
+        }
+
+        for (int i = size; i < leaves; i++) {
+            tree[leaves + i] = Double.NEGATIVE_INFINITY;
+        }
+
+        for (int node = leaves - 1; node > 0; node--) {
+            tree[node] = Math.max(tree[2 * node], tree[2 * node + 1]);
+        }
+
+        stale = false;
+    }
+}
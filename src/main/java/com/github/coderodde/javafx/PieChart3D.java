@@ -1,13 +1,18 @@
 package com.github.coderodde.javafx;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Consumer;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
-import javafx.scene.shape.ArcType;
+import javafx.scene.transform.Transform;
+import javafx.stage.Window;
+import javafx.util.Duration;
 
 /**
  * This class implements a pie chart that can communicate data points in three
@@ -17,6 +22,37 @@ import javafx.scene.shape.ArcType;
  * <li>the angle of a sector,</li>
  * <li>color intensity of a sector.</li>
  * </ol>
+ * <p>
+ * The chart keeps track of its state so that {@link #draw()} returns 
+ * immediately if nothing has changed since the previous call, and repaints 
+ * only the affected angular span if a few entries have changed without 
+ * affecting the sum of angles and the maxima of radii and intensities.
+ * <p>
+ * The entries are stored in columnar form in a {@link PieChart3DData}, 
+ * which changes two things compared to the earlier versions that kept the 
+ * entry objects:
+ * <ul>
+ * <li>{@link #add(PieChart3DEntry)} and the other mutators copy the values 
+ *     of the given entries, so modifying an entry after adding it does not 
+ *     affect the chart;</li>
+ * <li>{@link #get(int)} returns a view bound to an index, not to a sector: 
+ *     after an insertion or a removal before that index, a held view reads
+ *     and writes the sector now at the index, and it throws an 
+ *     {@link IndexOutOfBoundsException} once the index is past the end.</li>
+ * </ul>
+ * <p>
+ * Instead of calling {@link #draw()} directly, any thread may call 
+ * {@link #requestDraw()}. All the requests made between two pulses are 
+ * coalesced into a single {@code draw()} on the JavaFX application thread,
+ * optionally capped by {@link #setMaximumFrameRate(double)}.
+ * <p>
+ * The static layers, that is, the bounding box and the background oval, are 
+ * rendered once into a cached image, which is redrawn as is until the colors
+ * or the size change. With {@link #setRotationCachingEnabled(boolean)}, the 
+ * sectors are cached likewise, and the frames that only rotate the chart 
+ * draw the cached sectors rotated instead of drawing every sector again.
+ * <p>
+ * The draws may be instrumented; see {@link PieChart3DMetrics}.
  * 
  * @author Rodion "rodde" Efremov
  * @version 1.6 (Dec 18, 2023)
@@ -24,33 +60,144 @@ import javafx.scene.shape.ArcType;
  */
 public final class PieChart3D extends Canvas {
     
-    private static final Color DEFAULT_BOX_COLOR = Color.WHITE;
-    private static final Color DEFAULT_CHART_BACKGROUND_COLOR = Color.WHITE;
-    private static final Color DEFAULT_ORIGINAL_INTENSITY_COLOR = Color.BLACK;
+    /**
+     * The side length in pixels of the tiles used for partial repainting.
+     */
+    private static final double PARTIAL_REPAINT_TILE_SIZE = 32.0;
+    
+    private final PieChart3DColors colors = new PieChart3DColors();
+    private double angleOffset = 0.0;
+    
+    // The level of detail settings:
+    private double minimumSectorArcLength = 0.0;
+    private SectorReduction sectorRadiusReduction = SectorReduction.MAXIMUM;
+    private SectorReduction sectorColorIntensityReduction = 
+            SectorReduction.MAXIMUM;
+    
+    private final PieChart3DData data;
+    
+    /**
+     * Counts the modifications of the chart colors, the angle offset and the
+     * size. The modifications of the entries are counted by {@link #data}.
+     */
+    private long generation;
+    
+    /**
+     * The value of {@link #generation} at the time of the last draw.
+     */
+    private long drawnGeneration = -1L;
+    
+    /**
+     * The modification count of {@link #data} at the time of the last draw.
+     */
+    private long drawnModificationCount = -1L;
+    
+    /**
+     * Counts the modifications of the box color, the chart background color 
+     * and the size.
+     */
+    private long backgroundGeneration;
+    
+    /**
+     * Counts the modifications of the settings affecting the looks of the 
+     * sectors except for the angle offset.
+     */
+    private long sectorGeneration;
+    
+    /**
+     * The value of {@link #sectorGeneration} at the time of the last draw.
+     */
+    private long drawnSectorGeneration = -1L;
+    
+    // The cached background layer holding the bounding box and the 
+    // background oval:
+    private WritableImage backgroundImage;
+    private long backgroundImageGeneration = -1L;
+    private double backgroundImageScale;
+    
+    // The cached sector layer drawn with zero angle offset:
+    private boolean rotationCachingEnabled;
+    private WritableImage sectorImage;
+    private long sectorImageGeneration = -1L;
+    private long sectorImageModificationCount = -1L;
+    private double sectorImageScale;
+    
+    /**
+     * Indicates whether the last draw drew the sectors from 
+     * {@link #sectorImage}.
+     */
+    private boolean drawnFromSectorImage;
+    
+    /**
+     * Renders the cached layers; created on first use.
+     */
+    private Canvas layerCanvas;
+    
+    // The aggregates of the data at the time of the last draw. The sectors 
+    // outside of the changed range need no repainting as long as these stay
+    // intact.
+    private double drawnSumOfRelativeAngles;
+    private double drawnMaximumRadiusValue;
+    private double drawnMaximumColorIntensityValue;
     
-    private Color boxColor               = DEFAULT_BOX_COLOR;
-    private Color chartBackgroundColor   = DEFAULT_CHART_BACKGROUND_COLOR;
-    private Color originalIntensityColor = DEFAULT_ORIGINAL_INTENSITY_COLOR;
-    private double angleOffset           = 0.0;
+    /**
+     * Caches the geometry and the colors of the sectors.
+     */
+    private final PieChart3DLayout layout = new PieChart3DLayout();
+    
+    /**
+     * Schedules the draws requested by {@link #requestDraw()}.
+     */
+    private final PieChart3DRenderLoop renderLoop = 
+            new PieChart3DRenderLoop(this::draw);
+    
+    /**
+     * Animates this chart; created on first use.
+     */
+    private PieChart3DTransition transition;
     
-    private final List<PieChart3DEntry> entries = new ArrayList<>();
+    /**
+     * Collects the statistics of the current draw if the metrics are enabled.
+     */
+    private final PieChart3DFrameStatistics frameStatistics = 
+            new PieChart3DFrameStatistics();
     
     public PieChart3D(double dimension) {
-        checkDimension(dimension);
+        this(dimension, new PieChart3DData());
+    }
+    
+    /**
+     * Constructs a pie chart over the given columnar data. All the subsequent
+     * modifications of this chart are reflected in {@code data} and vice 
+     * versa.
+     * 
+     * @param dimension the width and the height of the chart.
+     * @param data      the data to chart.
+     */
+    public PieChart3D(double dimension, PieChart3DData data) {
+        PieChart3DLayout.checkDimension(dimension);
+        this.data = Objects.requireNonNull(data, "The data is null.");
         super.setWidth(dimension);
         super.setHeight(dimension);
+        
+        widthProperty().addListener(observable -> invalidateLayers());
+        heightProperty().addListener(observable -> invalidateLayers());
+    }
+    
+    public PieChart3DData getData() {
+        return data;
     }
     
     public Color getBoxBackgroundColor() {
-        return boxColor;
+        return colors.getBoxColor();
     }
 
     public Color getChartBackgroundColor() {
-        return chartBackgroundColor;
+        return colors.getChartBackgroundColor();
     }
 
     public Color getOriginalIntensityColor() {
-        return originalIntensityColor;
+        return colors.getOriginalIntensityColor();
     }
     
     public double getAngleOffset() {
@@ -58,215 +205,740 @@ public final class PieChart3D extends Canvas {
     }
 
     public void setBoxBackgroundColor(Color boxColor) {
-        this.boxColor = 
-                Objects.requireNonNull(boxColor, "The input color is null.");
+        colors.setBoxColor(boxColor);
+        backgroundGeneration++;
+        generation++;
     }
 
     public void setChartBackgroundColor(Color chartBackgroundColor) {
-        this.chartBackgroundColor = 
-                Objects.requireNonNull(
-                        chartBackgroundColor, 
-                        "The input color is null.");
+        colors.setChartBackgroundColor(chartBackgroundColor);
+        backgroundGeneration++;
+        generation++;
     }
 
     public void setOriginalIntensityColor(Color originalIntensityColor) {
-        this.originalIntensityColor =
-                Objects.requireNonNull(
-                        originalIntensityColor,
-                        "The input color is null.");
+        colors.setOriginalIntensityColor(originalIntensityColor);
+        sectorGeneration++;
+        generation++;
+    }
+    
+    /**
+     * Returns the number of levels in the quantized intensity palette, or zero
+     * if the palette is disabled.
+     * 
+     * @return the number of palette levels.
+     */
+    public int getColorPaletteSize() {
+        return colors.getColorPaletteSize();
+    }
+    
+    /**
+     * Enables the quantized intensity palette with {@code numberOfLevels} 
+     * shades of the original intensity color, or disables it if 
+     * {@code numberOfLevels} is zero. With the palette enabled, the sectors 
+     * share the precomputed color instances instead of getting a color of 
+     * their own. 256 levels are indistinguishable from the exact colors on 
+     * most displays.
+     * 
+     * @param numberOfLevels the number of palette levels, or zero.
+     */
+    public void setColorPaletteSize(int numberOfLevels) {
+        colors.setColorPaletteSize(numberOfLevels);
+        sectorGeneration++;
+        generation++;
     }
     
     public void setAngleOffset(double angleOffset) {
-        checkAngleOffset(angleOffset);
-        angleOffset %= 360.0;
+        this.angleOffset = PieChart3DLayout.normalizeAngleOffset(angleOffset);
+        generation++;
+    }
+    
+    public boolean isRotationCachingEnabled() {
+        return rotationCachingEnabled;
+    }
+    
+    /**
+     * Enables or disables caching the sectors in an image. With the caching 
+     * enabled, a frame changing nothing but the angle offset draws the cached
+     * sectors rotated, which is much cheaper than drawing the sectors when 
+     * there are many of them. Since the image is resampled, the edges of the 
+     * sectors may look slightly softer while rotating. The frames changing 
+     * the data draw the sectors as usual; the cache is rebuilt on the next 
+     * rotation. Disabled by default.
+     * 
+     * @param rotationCachingEnabled {@code true} for enabling the caching.
+     */
+    public void setRotationCachingEnabled(boolean rotationCachingEnabled) {
+        this.rotationCachingEnabled = rotationCachingEnabled;
         
-        if (angleOffset < 0.0) {
-            angleOffset += 360.0;
+        if (!rotationCachingEnabled) {
+            sectorImage = null;
+            sectorImageGeneration = -1L;
         }
         
-        this.angleOffset = angleOffset;
+        generation++;
+    }
+    
+    public double getMinimumSectorArcLength() {
+        return minimumSectorArcLength;
+    }
+    
+    public SectorReduction getSectorRadiusReduction() {
+        return sectorRadiusReduction;
+    }
+    
+    public SectorReduction getSectorColorIntensityReduction() {
+        return sectorColorIntensityReduction;
+    }
+    
+    /**
+     * Sets the level of detail. The runs of adjacent sectors whose arcs on the
+     * rim of the chart are shorter than {@code minimumSectorArcLength} pixels
+     * are drawn merged into a single wedge, whose radius and color intensity
+     * are reduced from the merged sectors as specified by 
+     * {@link #setSectorRadiusReduction(SectorReduction)} and 
+     * {@link #setSectorColorIntensityReduction(SectorReduction)}. Zero, which
+     * is the default, disables the merging.
+     * 
+     * @param minimumSectorArcLength the threshold arc length in pixels.
+     */
+    public void setMinimumSectorArcLength(double minimumSectorArcLength) {
+        PieChart3DLayout.checkMinimumSectorArcLength(
+                minimumSectorArcLength);
+        this.minimumSectorArcLength = minimumSectorArcLength;
+        updateLevelOfDetail();
     }
     
+    public void setSectorRadiusReduction(
+            SectorReduction sectorRadiusReduction) {
+        this.sectorRadiusReduction = 
+                Objects.requireNonNull(
+                        sectorRadiusReduction,
+                        "The sector radius reduction is null.");
+        updateLevelOfDetail();
+    }
+    
+    public void setSectorColorIntensityReduction(
+            SectorReduction sectorColorIntensityReduction) {
+        this.sectorColorIntensityReduction = 
+                Objects.requireNonNull(
+                        sectorColorIntensityReduction,
+                        "The sector color intensity reduction is null.");
+        updateLevelOfDetail();
+    }
+    
+    /**
+     * Returns a view of the {@code index}th entry. Modifying the returned 
+     * entry modifies the data of this chart; see 
+     * {@link PieChart3DData#get(int)}. The view is bound to the index, not to
+     * the sector: after an insertion or a removal before {@code index}, it 
+     * reads and writes the sector now at {@code index}, and it throws an 
+     * {@link IndexOutOfBoundsException} once {@code index} is past the end.
+     * Hold views only while the sectors are not inserted or removed.
+     * 
+     * @param index the index of the entry.
+     * @return a view of the entry.
+     */
     public PieChart3DEntry get(int index) {
-        return entries.get(index);
+        return data.get(index);
+    }
+    
+    /**
+     * Returns the index of the sector under the point {@code (x, y)} given in
+     * the local coordinates of this chart. Respects the angle offset and the
+     * radius of each sector. Runs in logarithmic time.
+     * 
+     * @param x the {@code x}-coordinate of the point.
+     * @param y the {@code y}-coordinate of the point.
+     * @return the index of the sector under the point, or -1 if there is 
+     *         none.
+     */
+    public int sectorAt(double x, double y) {
+        return PieChart3DLayout.findSectorAt(data, 
+                                             x, 
+                                             y, 
+                                             getHeight() / 2.0, 
+                                             angleOffset);
+    }
+    
+    /**
+     * Returns a view of the entry under the point {@code (x, y)}. See 
+     * {@link #sectorAt(double, double)} and {@link #get(int)}.
+     * 
+     * @param x the {@code x}-coordinate of the point.
+     * @param y the {@code y}-coordinate of the point.
+     * @return a view of the entry under the point, or {@code null} if there 
+     *         is none.
+     */
+    public PieChart3DEntry entryAt(double x, double y) {
+        int index = sectorAt(x, y);
+        return index == -1 ? null : data.get(index);
     }
     
     public void set(int index, PieChart3DEntry entry) {
-        entries.set(index, Objects.requireNonNull(entry, "The entry is null."));
+        data.set(index, entry);
     }
     
     public int size() {
-        return entries.size();
+        return data.size();
     }
     
     public void add(PieChart3DEntry entry) {
-        entries.add(Objects.requireNonNull(entry, "The entry is null."));
+        data.add(entry);
     }
     
     public void add(int index, PieChart3DEntry entry) {
-        entries.add(index, Objects.requireNonNull(entry, "The entry is null."));
+        data.add(index, entry);
     }
     
     public void remove(int index) {
-        entries.remove(index);
+        data.remove(index);
+    }
+    
+    /**
+     * Appends all the {@code entries}. See 
+     * {@link PieChart3DData#addAll(Collection)}.
+     * 
+     * @param entries the entries to append.
+     */
+    public void addAll(Collection<? extends PieChart3DEntry> entries) {
+        data.addAll(entries);
+    }
+    
+    public void addAll(int index,
+                       Collection<? extends PieChart3DEntry> entries) {
+        data.addAll(index, entries);
+    }
+    
+    public void setRange(int fromIndex,
+                         List<? extends PieChart3DEntry> entries) {
+        data.setRange(fromIndex, entries);
+    }
+    
+    public void removeRange(int fromIndex, int toIndex) {
+        data.removeRange(fromIndex, toIndex);
+    }
+    
+    /**
+     * Runs {@code mutator} on this chart as a single modification of its 
+     * data, and requests a single redraw afterwards. See 
+     * {@link PieChart3DData#batch(Consumer)}.
+     * 
+     * @param mutator the operation modifying this chart.
+     */
+    public void batch(Consumer<? super PieChart3D> mutator) {
+        Objects.requireNonNull(mutator, "The mutator is null.");
+        
+        try {
+            data.batch(d -> mutator.accept(this));
+        } finally {
+            requestDraw();
+        }
     }
     
     public void draw() {
+        long modificationCount = data.getModificationCount();
+        
+        if (drawnGeneration == generation 
+                && drawnModificationCount == modificationCount) {
+            // Nothing changed since the last draw:
+            if (PieChart3DMetrics.ENABLED) {
+                PieChart3DMetrics.getInstance().recordSkippedDraw();
+            }
+            
+            return;
+        }
+        
+        long drawStartNanos = 
+                PieChart3DMetrics.ENABLED ? System.nanoTime() : 0L;
+        
         GraphicsContext gc = getGraphicsContext2D();
-        drawBoundingBox(gc);
-        drawEntirePieChart(gc);
+        layout.update(data, 
+                      getHeight(), 
+                      colors.getOriginalIntensityColor(), 
+                      colors.getPalette());
+        
+        if (PieChart3DMetrics.ENABLED) {
+            frameStatistics.layoutNanos = System.nanoTime() - drawStartNanos;
+        }
         
-        if (!entries.isEmpty()) {
-            // Once here, we have entries to draw:
-            drawChart(gc);
+        boolean partial = canRepaintChangedRangeOnly();
+        
+        if (partial) {
+            drawChangedRange(gc, 
+                             data.getChangedFromIndex(), 
+                             Math.min(data.getChangedToIndex(), data.size()));
+        } else {
+            drawBackground(gc);
+            drawnFromSectorImage = false;
+
+            if (!data.isEmpty()) {
+                // Once here, we have entries to draw:
+                if (canDrawFromSectorImage(modificationCount)) {
+                    drawSectorImage(gc, modificationCount);
+                    drawnFromSectorImage = true;
+                } else {
+                    drawChart(gc, 0, layout.getNumberOfWedges());
+                }
+            }
+        }
+        
+        data.resetChangedRange();
+        drawnGeneration                 = generation;
+        drawnSectorGeneration           = sectorGeneration;
+        drawnModificationCount          = modificationCount;
+        drawnSumOfRelativeAngles        = data.getSectorAngleValueSum();
+        drawnMaximumRadiusValue         = data.getMaximumSectorRadiusValue();
+        drawnMaximumColorIntensityValue = 
+                data.getMaximumSectorColorIntensityValue();
+        
+        if (PieChart3DMetrics.ENABLED) {
+            recordDraw(drawStartNanos, partial);
         }
     }
     
-    private void drawBoundingBox(GraphicsContext gc) {
-        gc.setFill(getBoxBackgroundColor());
-        gc.fillRect(0.0,
-                    0.0,
-                    getWidth(), 
-                    getHeight());
+    /**
+     * Returns the transition animating this chart, creating it on first use.
+     * 
+     * @return the transition of this chart.
+     */
+    public PieChart3DTransition getTransition() {
+        if (transition == null) {
+            transition = new PieChart3DTransition(this);
+        }
+        
+        return transition;
     }
     
-    private void drawEntirePieChart(GraphicsContext gc) {
-        gc.setFill(getChartBackgroundColor());
-        gc.fillOval(0.0,
-                    0.0,
-                    getHeight(),
-                    getWidth());       
+    /**
+     * Animates the data of this chart to {@code target}. See 
+     * {@link PieChart3DTransition#start(PieChart3DData, Duration)}.
+     * 
+     * @param target   the target data.
+     * @param duration the duration of the animation.
+     */
+    public void animateTo(PieChart3DData target, Duration duration) {
+        getTransition().start(target, duration);
+    }
+    
+    /**
+     * Animates the data of this chart to {@code target} and the angle offset
+     * to {@code targetAngleOffset}. See 
+     * {@link PieChart3DTransition#start(PieChart3DData, double, Duration)}.
+     * 
+     * @param target            the target data.
+     * @param targetAngleOffset the target angle offset.
+     * @param duration          the duration of the animation.
+     */
+    public void animateTo(PieChart3DData target,
+                          double targetAngleOffset,
+                          Duration duration) {
+        getTransition().start(target, targetAngleOffset, duration);
+    }
+    
+    /**
+     * Requests a {@link #draw()} on the JavaFX application thread. May be 
+     * called from any thread; the requests made before the next frame are 
+     * coalesced into a single draw.
+     */
+    public void requestDraw() {
+        renderLoop.requestDraw();
+    }
+    
+    public double getMaximumFrameRate() {
+        return renderLoop.getMaximumFrameRate();
     }
     
-    private void drawChart(GraphicsContext gc) {
-        double sumOfRelativeAngles        = computeSumOfRelativeAngles();
-        double maximumRadiusValue         = getMaximumRadiusValue();
-        double maximumColorIntensityValue = getMaximumColorIntensity();
-        double startAngle                 = 90.0 - angleOffset;
+    /**
+     * Caps the rate of the draws scheduled by {@link #requestDraw()}. The 
+     * requests arriving faster are coalesced into the next allowed frame.
+     * 
+     * @param maximumFrameRate the maximum number of draws per second, or 
+     *                         zero for drawing on every pulse.
+     */
+    public void setMaximumFrameRate(double maximumFrameRate) {
+        renderLoop.setMaximumFrameRate(maximumFrameRate);
+    }
+    
+    private boolean canRepaintChangedRangeOnly() {
+        return drawnGeneration == generation
+            && !drawnFromSectorImage
+            && data.getSectorAngleValueSum() > 0.0
+            && data.isChangedRangeValidSince(drawnModificationCount)
+            && drawnSumOfRelativeAngles == data.getSectorAngleValueSum()
+            && drawnMaximumRadiusValue == data.getMaximumSectorRadiusValue()
+            && drawnMaximumColorIntensityValue 
+                == data.getMaximumSectorColorIntensityValue();
+    }
+    
+    /**
+     * Repaints the angular span of the sectors {@code fromIndex} (inclusive)
+     * through {@code toIndex} (exclusive). If {@code toIndex} equals the 
+     * number of entries, the span extends to the end of the chart, which 
+     * covers the sectors removed from the tail.
+     * <p>
+     * The span is repainted tile by tile. Each tile is clipped by a 
+     * pixel-aligned rectangle (so that the clip does not blend the repainted
+     * pixels with the old ones) and gets repainted with all the layers that
+     * reach into it: the bounding box, the background oval and the sectors
+     * whose angles overlap the tile as seen from the center. With the level
+     * of detail enabled, the span is widened to the wedges containing the
+     * changed sectors.
+     * 
+     * @param gc        the graphics context.
+     * @param fromIndex the index of the first changed sector.
+     * @param toIndex   one past the index of the last changed sector.
+     */
+    private void drawChangedRange(GraphicsContext gc,
+                                  int fromIndex, 
+                                  int toIndex) {
+        int size = data.size();
+        double fromAngle = layout.getWedgeStartAngle(
+                layout.findWedgeIndex(layout.getStartAngle(fromIndex)));
+        double toAngle   = toIndex == size ? 
+                           360.0 : 
+                           layout.getWedgeStartAngle(
+                                   layout.findWedgeIndex(
+                                           layout.getStartAngle(toIndex - 1))
+                                           + 1);
         
-        for (PieChart3DEntry entry : entries) {
-            
-            double actualAngle = 360.0 * entry.getSectorAngleValue()
-                                       / sumOfRelativeAngles;
-            
-            double actualRadius =
-                    (getHeight() / 2.0) * (entry.getSectorRadiusValue() 
-                                        / maximumRadiusValue);
-                                        
-            Color actualColor = 
-                    obtainColor(entry.getSectorColorIntensityValue() / 
-                                maximumColorIntensityValue);
-            
-            double sectorStartAngle = startAngle - actualAngle;
-            
-            startAngle -= actualAngle;
-            
-            drawSector(gc,
-                       sectorStartAngle,
-                       actualAngle,
-                       actualRadius,
-                       actualColor);
+        double width  = getWidth();
+        double height = getHeight();
+        double center = height / 2.0;
+        
+        for (double y = 0.0; y < height; y += PARTIAL_REPAINT_TILE_SIZE) {
+            for (double x = 0.0; x < width; x += PARTIAL_REPAINT_TILE_SIZE) {
+                double tileWidth  = Math.min(PARTIAL_REPAINT_TILE_SIZE,
+                                             width - x);
+                double tileHeight = Math.min(PARTIAL_REPAINT_TILE_SIZE,
+                                             height - y);
+                
+                // Expand the tile by a pixel so that we account for the 
+                // anti-aliased edges of the sectors:
+                double x0 = x - 1.0;
+                double y0 = y - 1.0;
+                double x1 = x + tileWidth  + 1.0;
+                double y1 = y + tileHeight + 1.0;
+                double nearestX = Math.max(x0, Math.min(center, x1));
+                double nearestY = Math.max(y0, Math.min(center, y1));
+                
+                if (Math.hypot(nearestX - center, nearestY - center) 
+                        > center) {
+                    // Only the bounding box is here:
+                    continue;
+                }
+                
+                boolean containsCenter = nearestX == center 
+                                      && nearestY == center;
+                
+                double tileFromAngle;
+                double tileToAngle;
+                
+                if (containsCenter) {
+                    tileFromAngle = 0.0;
+                    tileToAngle   = 360.0;
+                } else {
+                    double angle0 = getChartAngle(x0, y0, center);
+                    double delta1 = getAngleDelta(
+                            getChartAngle(x1, y0, center), angle0);
+                    double delta2 = getAngleDelta(
+                            getChartAngle(x0, y1, center), angle0);
+                    double delta3 = getAngleDelta(
+                            getChartAngle(x1, y1, center), angle0);
+                    
+                    tileFromAngle = angle0 + Math.min(0.0, 
+                                             Math.min(delta1,
+                                             Math.min(delta2, delta3)));
+                    
+                    tileToAngle = angle0 + Math.max(0.0,
+                                           Math.max(delta1,
+                                           Math.max(delta2, delta3)));
+                }
+                
+                if (!overlaps(tileFromAngle, 
+                              tileToAngle, 
+                              fromAngle, 
+                              toAngle)) {
+                    continue;
+                }
+                
+                gc.save();
+                gc.beginPath();
+                gc.rect(x, y, tileWidth, tileHeight);
+                gc.clip();
+                
+                drawBackground(gc);
+                
+                if (containsCenter) {
+                    drawChart(gc, 0, layout.getNumberOfWedges());
+                } else if (tileFromAngle < 0.0) {
+                    drawSectorsInAngleRange(gc, 0.0, tileToAngle);
+                    drawSectorsInAngleRange(gc, tileFromAngle + 360.0, 360.0);
+                } else if (tileToAngle > 360.0) {
+                    drawSectorsInAngleRange(gc, 0.0, tileToAngle - 360.0);
+                    drawSectorsInAngleRange(gc, tileFromAngle, 360.0);
+                } else {
+                    drawSectorsInAngleRange(gc, tileFromAngle, tileToAngle);
+                }
+                
+                gc.restore();
+            }
         }
     }
     
     /**
-     * Draws a single sector.
+     * Draws all the wedges overlapping the chart angles from 
+     * {@code fromAngle} to {@code toAngle}, both within {@code [0, 360]}.
      * 
-     * @param gc           the graphics context.
-     * @param startAngle   the start angle.
-     * @param angle     the end angle.
-     * @param actualRadius the radius of the sector.
-     * @param color        the color of the sector.
-     */
-    private void drawSector(GraphicsContext gc, 
-                            double startAngle,
-                            double angle,
-                            double actualRadius,
-                            Color color) {
-        
-        double canvasDimension = getHeight();
-        double centerX = canvasDimension / 2.0;
-        double centerY = canvasDimension / 2.0;
-        
-        gc.setFill(color);
-        gc.fillArc(centerX - actualRadius, 
-                   centerY - actualRadius,
-                   2.0 * actualRadius,
-                   2.0 * actualRadius,
-                   startAngle,
-                   angle,
-                   ArcType.ROUND);
-    }
-    
-    private double computeSumOfRelativeAngles() {
-        double angleSum = 0.0;
-        
-        for (PieChart3DEntry entry : entries) {
-            angleSum += entry.getSectorAngleValue();
+     * @param gc        the graphics context.
+     * @param fromAngle the starting chart angle.
+     * @param toAngle   the ending chart angle.
+     */
+    private void drawSectorsInAngleRange(GraphicsContext gc, 
+                                         double fromAngle, 
+                                         double toAngle) {
+        drawChart(gc,
+                  layout.findWedgeIndex(fromAngle),
+                  layout.findWedgeIndex(toAngle) + 1);
+    }
+    
+    /**
+     * Returns the clockwise angle in degrees from the beginning of the chart
+     * to the point {@code (x, y)}. The result is within {@code [0, 360)}.
+     * 
+     * @param x      the {@code x}-coordinate of the point.
+     * @param y      the {@code y}-coordinate of the point.
+     * @param center the coordinate of the center of the chart.
+     * @return the chart angle of the point.
+     */
+    private double getChartAngle(double x, double y, double center) {
+        return PieChart3DLayout.getChartAngle(x, y, center, angleOffset);
+    }
+    
+    private static double getAngleDelta(double angle, double baseAngle) {
+        double delta = angle - baseAngle;
+        
+        if (delta > 180.0) {
+            return delta - 360.0;
+        }
+        
+        if (delta <= -180.0) {
+            return delta + 360.0;
         }
         
-        return angleSum;
+        return delta;
     }
     
-    private static void checkDimension(double dimension) {
-        checkIsNotNaN(dimension, "The dimension is NaN.");
-        checkIsNotInfinite(dimension,
-                           "The dimention is infinite in absolute value.");
+    private static boolean overlaps(double fromAngle1, 
+                                    double toAngle1,
+                                    double fromAngle2, 
+                                    double toAngle2) {
+        for (double shift = -360.0; shift <= 360.0; shift += 360.0) {
+            if (fromAngle1 + shift <= toAngle2 
+                    && fromAngle2 <= toAngle1 + shift) {
+                return true;
+            }
+        }
         
-        if (dimension <= 0.0) {
-            throw new IllegalArgumentException(
-                    "The dimension is non-positive.");
+        return false;
+    }
+    
+    /**
+     * Returns {@code true} if the sectors may be drawn from the cached image,
+     * that is, if the rotation caching is enabled and nothing but the angle 
+     * offset or the background changed since the last draw.
+     * 
+     * @param modificationCount the current modification count of the data.
+     * @return {@code true} if the cached sectors may be drawn.
+     */
+    private boolean canDrawFromSectorImage(long modificationCount) {
+        return rotationCachingEnabled
+            && drawnModificationCount == modificationCount
+            && drawnSectorGeneration == sectorGeneration;
+    }
+    
+    private void updateLevelOfDetail() {
+        layout.setLevelOfDetail(minimumSectorArcLength, 
+                                sectorRadiusReduction,
+                                sectorColorIntensityReduction);
+        sectorGeneration++;
+        generation++;
+    }
+    
+    private void invalidateLayers() {
+        backgroundGeneration++;
+        sectorGeneration++;
+        generation++;
+    }
+    
+    /**
+     * Draws the cached background layer, rendering it first if it is stale.
+     * 
+     * @param gc the graphics context.
+     */
+    private void drawBackground(GraphicsContext gc) {
+        double scale = getOutputScale();
+        
+        if (backgroundImageGeneration != backgroundGeneration
+                || backgroundImageScale != scale) {
+            GraphicsContext layerGc = prepareLayerCanvas();
+            drawBoundingBox(layerGc);
+            drawEntirePieChart(layerGc);
+            
+            backgroundImage           = snapshotLayer(backgroundImage, scale);
+            backgroundImageGeneration = backgroundGeneration;
+            backgroundImageScale      = scale;
+        }
+        
+        long startNanos = PieChart3DMetrics.ENABLED ? System.nanoTime() : 0L;
+        
+        gc.drawImage(backgroundImage, 0.0, 0.0, getWidth(), getHeight());
+        
+        if (PieChart3DMetrics.ENABLED) {
+            frameStatistics.backgroundNanos += System.nanoTime() - startNanos;
         }
     }
     
-    private static void checkAngleOffset(double angleOffset) {
-        checkIsNotNaN(angleOffset, "The angle offset is NaN.");
-        checkIsNotInfinite(angleOffset,
-                           "The angle offset is infinite in absolute value.");
+    /**
+     * Draws the cached sector layer rotated by the angle offset, rendering the
+     * layer first if it is stale.
+     * 
+     * @param gc                the graphics context.
+     * @param modificationCount the current modification count of the data.
+     */
+    private void drawSectorImage(GraphicsContext gc, long modificationCount) {
+        long startNanos = PieChart3DMetrics.ENABLED ? System.nanoTime() : 0L;
+        double scale = getOutputScale();
+        double center = getHeight() / 2.0;
+        
+        if (sectorImageGeneration != sectorGeneration 
+                || sectorImageModificationCount != modificationCount
+                || sectorImageScale != scale) {
+            GraphicsContext layerGc = prepareLayerCanvas();
+            layout.draw(layerGc, center, 0.0, 0, layout.getNumberOfWedges());
+            
+            sectorImage                  = snapshotLayer(sectorImage, scale);
+            sectorImageGeneration        = sectorGeneration;
+            sectorImageModificationCount = modificationCount;
+            sectorImageScale             = scale;
+        }
+        
+        gc.save();
+        gc.translate(center, center);
+        gc.rotate(angleOffset);
+        gc.translate(-center, -center);
+        gc.drawImage(sectorImage, 0.0, 0.0, getWidth(), getHeight());
+        gc.restore();
+        
+        if (PieChart3DMetrics.ENABLED) {
+            frameStatistics.sectorNanos += System.nanoTime() - startNanos;
+        }
     }
     
-    private static void checkIsNotNaN(double value, String exceptionMessage) {
-        if (Double.isNaN(value)) {
-            throw new IllegalArgumentException(exceptionMessage);
+    /**
+     * Returns the cleared off-screen canvas of the size of this chart.
+     * 
+     * @return the graphics context of the off-screen canvas.
+     */
+    private GraphicsContext prepareLayerCanvas() {
+        if (layerCanvas == null) {
+            layerCanvas = new Canvas();
         }
+        
+        double width  = getWidth();
+        double height = getHeight();
+        
+        layerCanvas.setWidth(width);
+        layerCanvas.setHeight(height);
+        
+        GraphicsContext gc = layerCanvas.getGraphicsContext2D();
+        gc.clearRect(0.0, 0.0, width, height);
+        return gc;
     }
     
-    private static void checkIsNotInfinite(double value, 
-                                           String exceptionMessage) {
-        if (Double.isInfinite(value)) {
-            throw new IllegalArgumentException(exceptionMessage);
+    /**
+     * Renders the off-screen canvas into {@code image}, which is reused if 
+     * its size fits.
+     * 
+     * @param image the image to reuse, or {@code null}.
+     * @param scale the ratio of the image pixels to the chart pixels.
+     * @return the rendered image.
+     */
+    private WritableImage snapshotLayer(WritableImage image, double scale) {
+        int imageWidth  = (int) Math.ceil(getWidth()  * scale);
+        int imageHeight = (int) Math.ceil(getHeight() * scale);
+        
+        if (image != null && (image.getWidth()  != imageWidth 
+                           || image.getHeight() != imageHeight)) {
+            image = null;
         }
+        
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        parameters.setTransform(Transform.scale(scale, scale));
+        return layerCanvas.snapshot(parameters, image);
     }
     
-    private double getMaximumRadiusValue() {
-        Optional<PieChart3DEntry> optional = 
-                entries.stream().max((e1, e2) -> {
-            return Double.compare(e1.getSectorRadiusValue(), 
-                                  e2.getSectorRadiusValue()); 
-        });
+    /**
+     * Returns the render scale of the window showing this chart, so that the 
+     * cached layers stay sharp on high density displays.
+     * 
+     * @return the output scale, or 1 if this chart is not shown.
+     */
+    private double getOutputScale() {
+        Scene scene = getScene();
+        Window window = scene == null ? null : scene.getWindow();
+        
+        if (window == null) {
+            return 1.0;
+        }
         
-        return optional.get().getSectorRadiusValue();
+        return Math.max(window.getOutputScaleX(), window.getOutputScaleY());
+    }
+    
+    private void recordDraw(long drawStartNanos, boolean partial) {
+        frameStatistics.partial    = partial;
+        frameStatistics.totalNanos = System.nanoTime() - drawStartNanos;
+        layout.drainCounters(frameStatistics);
+        PieChart3DMetrics.getInstance().recordDraw(this, frameStatistics);
+        frameStatistics.reset();
     }
     
-    private double getMaximumColorIntensity() {
-        Optional<PieChart3DEntry> optional = 
-                entries.stream().max((e1, e2) -> {
-                    return Double.compare(e1.getSectorColorIntensityValue(), 
-                                          e2.getSectorColorIntensityValue());
-                });
+    private void drawBoundingBox(GraphicsContext gc) {
+        long startNanos = PieChart3DMetrics.ENABLED ? System.nanoTime() : 0L;
         
-        return optional.get().getSectorColorIntensityValue();
+        gc.setFill(getBoxBackgroundColor());
+        gc.fillRect(0.0,
+                    0.0,
+                    getWidth(), 
+                    getHeight());
+        
+        if (PieChart3DMetrics.ENABLED) {
+            frameStatistics.boundingBoxNanos += System.nanoTime() - startNanos;
+        }
     }
     
-    private Color obtainColor(double intensity) {
-        double r = originalIntensityColor.getRed();
-        double g = originalIntensityColor.getGreen();
-        double b = originalIntensityColor.getBlue();
+    private void drawEntirePieChart(GraphicsContext gc) {
+        long startNanos = PieChart3DMetrics.ENABLED ? System.nanoTime() : 0L;
         
-        r += (1.0 - r) * (1.0 - intensity);
-        g += (1.0 - g) * (1.0 - intensity);
-        b += (1.0 - b) * (1.0 - intensity);
+        gc.setFill(getChartBackgroundColor());
+        gc.fillOval(0.0,
+                    0.0,
+                    getHeight(),
+                    getWidth());       
         
-        return new Color(r, g, b, 1.0);
+        if (PieChart3DMetrics.ENABLED) {
+            frameStatistics.backgroundNanos += System.nanoTime() - startNanos;
+        }
+    }
+    
+    private void drawChart(GraphicsContext gc, int fromIndex, int toIndex) {
+        long startNanos = PieChart3DMetrics.ENABLED ? System.nanoTime() : 0L;
+        
+        layout.draw(gc, getHeight() / 2.0, angleOffset, fromIndex, toIndex);
+        
+        if (PieChart3DMetrics.ENABLED) {
+            frameStatistics.sectorNanos += System.nanoTime() - startNanos;
+        }
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.github.coderodde.javafx;
+
+import java.util.Objects;
+import javafx.scene.paint.Color;
+
+/**
+ * This class holds the color settings shared by the pie chart renderers: the
+ * box color, the chart background color, the original intensity color and
+ * the optional quantized palette of the shades of the latter. The renderers
+ * delegate their color accessors to an instance of this class and track the
+ * modifications themselves.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+final class PieChart3DColors {
+
+    static final Color DEFAULT_BOX_COLOR = Color.WHITE;
+    static final Color DEFAULT_CHART_BACKGROUND_COLOR = Color.WHITE;
+    static final Color DEFAULT_ORIGINAL_INTENSITY_COLOR = Color.BLACK;
+
+    private Color boxColor               = DEFAULT_BOX_COLOR;
+    private Color chartBackgroundColor   = DEFAULT_CHART_BACKGROUND_COLOR;
+    private Color originalIntensityColor = DEFAULT_ORIGINAL_INTENSITY_COLOR;
+
+    /**
+     * The quantized intensity palette, or {@code null} if the sector colors
+     * are computed exactly.
+     */
+    private PieChart3DPalette palette;
+
+    Color getBoxColor() {
+        return boxColor;
+    }
+
+    Color getChartBackgroundColor() {
+        return chartBackgroundColor;
+    }
+
+    Color getOriginalIntensityColor() {
+        return originalIntensityColor;
+    }
+
+    PieChart3DPalette getPalette() {
+        return palette;
+    }
+
+    void setBoxColor(Color boxColor) {
+        this.boxColor =
+                Objects.requireNonNull(boxColor, "The input color is null.");
+    }
+
+    void setChartBackgroundColor(Color chartBackgroundColor) {
+        this.chartBackgroundColor =
+                Objects.requireNonNull(
+                        chartBackgroundColor,
+                        "The input color is null.");
+    }
+
+    /**
+     * Sets the original intensity color and rebuilds the palette, if any,
+     * from its shades.
+     *
+     * @param originalIntensityColor the color of the full intensity.
+     */
+    void setOriginalIntensityColor(Color originalIntensityColor) {
+        this.originalIntensityColor =
+                Objects.requireNonNull(
+                        originalIntensityColor,
+                        "The input color is null.");
+
+        if (palette != null) {
+            palette = new PieChart3DPalette(originalIntensityColor,
+                                            palette.getNumberOfLevels());
+        }
+    }
+
+    int getColorPaletteSize() {
+        return palette == null ? 0 : palette.getNumberOfLevels();
+    }
+
+    /**
+     * Builds the palette of {@code numberOfLevels} shades of the original
+     * intensity color, or drops the palette if {@code numberOfLevels} is
+     * zero.
+     *
+     * @param numberOfLevels the number of palette levels, or zero.
+     */
+    void setColorPaletteSize(int numberOfLevels) {
+        if (numberOfLevels == 0) {
+            palette = null;
+        } else {
+            palette = new PieChart3DPalette(originalIntensityColor,
+                                            numberOfLevels);
+        }
+    }
+}
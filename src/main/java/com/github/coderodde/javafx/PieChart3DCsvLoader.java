@@ -0,0 +1,865 @@
+package com.github.coderodde.javafx;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * This class loads the sectors of a pie chart from CSV or TSV text. Each
+ * non-blank line describes a sector; its radius, angle and color intensity
+ * values are read from three configurable columns, and the other columns are
+ * skipped. The values are parsed straight from the bytes by a hand-rolled
+ * decimal parser, collected into reusable primitive arrays and appended to a
+ * {@link PieChart3DData} in chunks, so no objects are created per line.
+ * <p>
+ * The values may be surrounded by blanks and double quotes, and must be
+ * decimal numbers with an optional exponent, such as {@code 12},
+ * {@code -0.5} or {@code 1.5e3}. The values are validated as by
+ * {@link PieChart3DEntry}: a negative or infinite value is rejected. Lines may
+ * end with {@code \n} or {@code \r\n}; quoted fields spanning several lines
+ * are not supported. A malformed line stops the loading with an
+ * {@link IllegalArgumentException} naming the line and the column; the
+ * sectors of the preceding lines are appended nevertheless.
+ * <p>
+ * A loader constructed with a parallelism greater than one parses files in
+ * parallel: the file is mapped into memory in splits of about
+ * {@link #getSplitSize()} bytes, cut at line boundaries, which are parsed by
+ * a {@link ForkJoinPool} and appended in the file order. The result is the
+ * same as of a sequential load.
+ * <p>
+ * The target data is modified by the calling thread only. Since a large load
+ * takes a while, load into a fresh {@link PieChart3DData} off the JavaFX
+ * application thread and pass it to a chart afterwards. Instances of this
+ * class are not thread-safe.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class PieChart3DCsvLoader implements AutoCloseable {
+
+    /**
+     * The default number of the sectors appended at a time.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    /**
+     * The default number of the bytes in a split of a parallel load.
+     */
+    public static final int DEFAULT_SPLIT_SIZE = 16 << 20;
+
+    /**
+     * The maximum number of the bytes in a split of a parallel load.
+     */
+    private static final int MAXIMUM_SPLIT_SIZE = 1 << 30;
+
+    /**
+     * The initial size of the stream buffer in bytes.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The number of the bytes read at a time while looking for a line end.
+     */
+    private static final int PROBE_SIZE = 4096;
+
+    /**
+     * The exactly representable powers of ten.
+     */
+    private static final double[] POWERS_OF_TEN = {
+        1e0,  1e1,  1e2,  1e3,  1e4,  1e5,  1e6,  1e7,  1e8,  1e9,  1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21,
+        1e22,
+    };
+
+    /**
+     * The pool parsing the splits, or {@code null} if this loader is
+     * sequential.
+     */
+    private final ForkJoinPool pool;
+
+    private byte delimiter = ',';
+    private int radiusColumn = 0;
+    private int angleColumn = 1;
+    private int colorIntensityColumn = 2;
+    private boolean headerSkipped;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private int splitSize = DEFAULT_SPLIT_SIZE;
+
+    /**
+     * Constructs a sequential loader of comma-separated values with the
+     * radius, angle and color intensity values in the first three columns.
+     */
+    public PieChart3DCsvLoader() {
+        this.pool = null;
+    }
+
+    /**
+     * Constructs a loader with its own pool of {@code parallelism} threads
+     * for loading files. The pool is shut down by {@link #close()}.
+     *
+     * @param parallelism the number of the parsing threads.
+     */
+    public PieChart3DCsvLoader(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException(
+                    "The parallelism is non-positive.");
+        }
+
+        this.pool = parallelism == 1 ? null : new ForkJoinPool(parallelism);
+    }
+
+    public int getParallelism() {
+        return pool == null ? 1 : pool.getParallelism();
+    }
+
+    public char getDelimiter() {
+        return (char) delimiter;
+    }
+
+    /**
+     * Sets the character separating the columns, such as {@code ','} for CSV
+     * or {@code '\t'} for TSV.
+     *
+     * @param delimiter the column delimiter.
+     */
+    public void setDelimiter(char delimiter) {
+        if (delimiter >= 0x80
+                || delimiter == '\n'
+                || delimiter == '\r'
+                || delimiter == '"') {
+            throw new IllegalArgumentException(
+                    "The delimiter is not a valid ASCII character.");
+        }
+
+        this.delimiter = (byte) delimiter;
+    }
+
+    public int getRadiusColumn() {
+        return radiusColumn;
+    }
+
+    public int getAngleColumn() {
+        return angleColumn;
+    }
+
+    public int getColorIntensityColumn() {
+        return colorIntensityColumn;
+    }
+
+    /**
+     * Sets the zero-based indices of the columns holding the values.
+     *
+     * @param radiusColumn         the column of the radius values.
+     * @param angleColumn          the column of the angle values.
+     * @param colorIntensityColumn the column of the color intensity values.
+     */
+    public void setColumns(int radiusColumn,
+                           int angleColumn,
+                           int colorIntensityColumn) {
+        if (radiusColumn < 0 || angleColumn < 0 || colorIntensityColumn < 0) {
+            throw new IllegalArgumentException("A column index is negative.");
+        }
+
+        if (radiusColumn == angleColumn
+                || radiusColumn == colorIntensityColumn
+                || angleColumn == colorIntensityColumn) {
+            throw new IllegalArgumentException(
+                    "The column indices are not distinct.");
+        }
+
+        this.radiusColumn         = radiusColumn;
+        this.angleColumn          = angleColumn;
+        this.colorIntensityColumn = colorIntensityColumn;
+    }
+
+    public boolean isHeaderSkipped() {
+        return headerSkipped;
+    }
+
+    /**
+     * Sets whether the first line of the input is a header to skip.
+     *
+     * @param headerSkipped the header flag.
+     */
+    public void setHeaderSkipped(boolean headerSkipped) {
+        this.headerSkipped = headerSkipped;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Sets the number of the sectors buffered before they are appended to
+     * the target data by a sequential load.
+     *
+     * @param chunkSize the number of the sectors appended at a time.
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException(
+                    "The chunk size is non-positive.");
+        }
+
+        this.chunkSize = chunkSize;
+    }
+
+    public int getSplitSize() {
+        return splitSize;
+    }
+
+    /**
+     * Sets the approximate number of the bytes parsed by a single task of a
+     * parallel load. At most the parallelism times this many bytes are mapped
+     * at a time.
+     *
+     * @param splitSize the number of the bytes in a split.
+     */
+    public void setSplitSize(int splitSize) {
+        if (splitSize <= 0 || splitSize > MAXIMUM_SPLIT_SIZE) {
+            throw new IllegalArgumentException(
+                    "The split size is out of range.");
+        }
+
+        this.splitSize = splitSize;
+    }
+
+    /**
+     * Appends the sectors described by the file at {@code path} to
+     * {@code data}. The file is parsed in parallel if the parallelism of this
+     * loader is greater than one.
+     *
+     * @param path the path of the file to load.
+     * @param data the data to append the sectors to.
+     * @return the number of the appended sectors.
+     * @throws IOException if reading the file fails.
+     */
+    public long load(Path path, PieChart3DData data) throws IOException {
+        Objects.requireNonNull(path, "The path is null.");
+        Objects.requireNonNull(data, "The data is null.");
+
+        if (pool == null) {
+            try (InputStream in = Files.newInputStream(path)) {
+                return load(in, data);
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(path,
+                                                    StandardOpenOption.READ)) {
+            return loadInParallel(channel, data);
+        }
+    }
+
+    /**
+     * Appends the sectors described by the bytes of {@code channel} to
+     * {@code data}. The channel is read sequentially up to its end and is not
+     * closed.
+     *
+     * @param channel the channel to read.
+     * @param data    the data to append the sectors to.
+     * @return the number of the appended sectors.
+     * @throws IOException if reading the channel fails.
+     */
+    public long load(ReadableByteChannel channel, PieChart3DData data)
+            throws IOException {
+        Objects.requireNonNull(channel, "The channel is null.");
+        return load(Channels.newInputStream(channel), data);
+    }
+
+    /**
+     * Appends the sectors described by the bytes of {@code in} to
+     * {@code data}. The stream is read sequentially up to its end and is not
+     * closed.
+     *
+     * @param in   the stream to read.
+     * @param data the data to append the sectors to.
+     * @return the number of the appended sectors.
+     * @throws IOException if reading the stream fails.
+     */
+    public long load(InputStream in, PieChart3DData data)
+            throws IOException {
+        Objects.requireNonNull(in, "The input stream is null.");
+        Objects.requireNonNull(data, "The data is null.");
+
+        LineParser parser = new LineParser(data, headerSkipped);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+        int length = 0;
+
+        try {
+            while (true) {
+                int read = in.read(buffer, length, buffer.length - length);
+
+                if (read < 0) {
+                    parser.parseLines(byteBuffer, 0, length, true);
+                    break;
+                }
+
+                length += read;
+
+                int parsed = parser.parseLines(byteBuffer, 0, length, false);
+
+                if (parsed == 0 && length == buffer.length) {
+                    // A line does not fit into the buffer:
+                    buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+                    byteBuffer = ByteBuffer.wrap(buffer);
+                } else {
+                    System.arraycopy(buffer,
+                                     parsed,
+                                     buffer,
+                                     0,
+                                     length - parsed);
+                    length -= parsed;
+                }
+            }
+        } catch (MalformedLineException ex) {
+            parser.flush();
+            throw ex.toIllegalArgumentException(0L);
+        }
+
+        parser.flush();
+        return parser.numberOfSectors;
+    }
+
+    /**
+     * Shuts down the pool of this loader, if any.
+     */
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private long loadInParallel(FileChannel channel, PieChart3DData data)
+            throws IOException {
+        long fileSize = channel.size();
+        long position = 0L;
+        long numberOfLines = 0L;
+        long numberOfSectors = 0L;
+        List<ForkJoinTask<LineParser>> tasks = new ArrayList<>();
+
+        while (position < fileSize) {
+            // Map and parse at most one split per thread at a time:
+            for (int i = 0; i < pool.getParallelism() && position < fileSize;
+                    i++) {
+                long end =
+                        findSplitEnd(channel, position + splitSize, fileSize);
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                                                position,
+                                                end - position);
+                boolean skipHeader = headerSkipped && position == 0L;
+                tasks.add(pool.submit(() -> parseSplit(buffer, skipHeader)));
+                position = end;
+            }
+
+            for (int i = 0; i < tasks.size(); i++) {
+                LineParser parser = tasks.get(i).join();
+                parser.flushTo(data);
+                numberOfSectors += parser.numberOfSectors;
+
+                if (parser.error != null) {
+                    for (int j = i + 1; j < tasks.size(); j++) {
+                        tasks.get(j).cancel(false);
+                    }
+
+                    throw parser.error.toIllegalArgumentException(
+                            numberOfLines);
+                }
+
+                numberOfLines += parser.numberOfLines;
+            }
+
+            tasks.clear();
+        }
+
+        return numberOfSectors;
+    }
+
+    /**
+     * Parses a whole split of a file into a growing parser, which keeps the
+     * parse error, if any, instead of throwing it.
+     */
+    private LineParser parseSplit(ByteBuffer buffer, boolean skipHeader) {
+        LineParser parser = new LineParser(null, skipHeader);
+
+        try {
+            parser.parseLines(buffer, 0, buffer.limit(), true);
+        } catch (MalformedLineException ex) {
+            parser.error = ex;
+        }
+
+        return parser;
+    }
+
+    /**
+     * Returns the position just after the first line end at or after
+     * {@code position - 1}, or {@code fileSize} if there is none.
+     */
+    private static long findSplitEnd(FileChannel channel,
+                                     long position,
+                                     long fileSize) throws IOException {
+        ByteBuffer probe = ByteBuffer.allocate(PROBE_SIZE);
+        position--;
+
+        while (position < fileSize) {
+            probe.clear();
+            int read = channel.read(probe, position);
+
+            if (read <= 0) {
+                break;
+            }
+
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+
+            position += read;
+        }
+
+        return fileSize;
+    }
+
+    /**
+     * Parses the decimal number in {@code buffer[from, to)}.
+     *
+     * @return the parsed value, or {@code NaN} if the number is malformed.
+     */
+    private static double parseNumber(ByteBuffer buffer, int from, int to) {
+        if (from == to) {
+            return Double.NaN;
+        }
+
+        int index = from;
+        byte sign = buffer.get(index);
+        boolean negative = sign == '-';
+
+        if (sign == '-' || sign == '+') {
+            index++;
+        }
+
+        // At most 18 significant digits fit into a long:
+        long mantissa = 0L;
+        int numberOfSignificantDigits = 0;
+        int numberOfDigits = 0;
+        int exponent = 0;
+        boolean truncated = false;
+
+        for (; index < to; index++) {
+            int digit = buffer.get(index) - '0';
+
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+
+            numberOfDigits++;
+
+            if (numberOfSignificantDigits < 18) {
+                mantissa = 10L * mantissa + digit;
+
+                if (mantissa != 0L) {
+                    numberOfSignificantDigits++;
+                }
+            } else {
+                exponent++;
+                truncated |= digit != 0;
+            }
+        }
+
+        if (index < to && buffer.get(index) == '.') {
+            for (index++; index < to; index++) {
+                int digit = buffer.get(index) - '0';
+
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+
+                numberOfDigits++;
+
+                if (numberOfSignificantDigits < 18) {
+                    mantissa = 10L * mantissa + digit;
+                    exponent--;
+
+                    if (mantissa != 0L) {
+                        numberOfSignificantDigits++;
+                    }
+                } else {
+                    truncated |= digit != 0;
+                }
+            }
+        }
+
+        if (numberOfDigits == 0) {
+            return Double.NaN;
+        }
+
+        if (index < to && (buffer.get(index) | 0x20) == 'e') {
+            index++;
+            boolean negativeExponent = false;
+
+            if (index < to
+                    && (buffer.get(index) == '-'
+                    || buffer.get(index) == '+')) {
+                negativeExponent = buffer.get(index) == '-';
+                index++;
+            }
+
+            int exponentValue = 0;
+            int numberOfExponentDigits = 0;
+
+            for (; index < to; index++) {
+                int digit = buffer.get(index) - '0';
+
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+
+                numberOfExponentDigits++;
+
+                if (exponentValue < 100_000) {
+                    exponentValue = 10 * exponentValue + digit;
+                }
+            }
+
+            if (numberOfExponentDigits == 0) {
+                return Double.NaN;
+            }
+
+            exponent += negativeExponent ? -exponentValue : exponentValue;
+        }
+
+        if (index != to) {
+            return Double.NaN;
+        }
+
+        double value;
+
+        if (mantissa == 0L) {
+            value = 0.0;
+        } else if (!truncated
+                && mantissa < (1L << 53)
+                && exponent >= -22
+                && exponent <= 22) {
+            // Both operands are exact, so the result is correctly rounded:
+            value = exponent < 0 ?
+                    mantissa / POWERS_OF_TEN[-exponent] :
+                    mantissa * POWERS_OF_TEN[exponent];
+        } else {
+            byte[] bytes = new byte[to - from];
+            buffer.get(from, bytes);
+            return Double.parseDouble(
+                    new String(bytes, StandardCharsets.ISO_8859_1));
+        }
+
+        return negative ? -value : value;
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    /**
+     * This exception reports a malformed line by its number within the parsed
+     * split.
+     */
+    private static final class MalformedLineException
+            extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long lineNumber;
+        private final int column;
+        private final String reason;
+
+        MalformedLineException(long lineNumber, int column, String reason) {
+            super(null, null, false, false);
+            this.lineNumber = lineNumber;
+            this.column     = column;
+            this.reason     = reason;
+        }
+
+        IllegalArgumentException toIllegalArgumentException(
+                long numberOfPrecedingLines) {
+            return new IllegalArgumentException(
+                    reason
+                        + " at line "
+                        + (numberOfPrecedingLines + lineNumber)
+                        + ", column "
+                        + (column + 1)
+                        + ".");
+        }
+    }
+
+    /**
+     * This class parses lines into primitive arrays. A parser with target
+     * data appends the sectors to it whenever the arrays fill up; otherwise
+     * the arrays grow.
+     */
+    private final class LineParser {
+
+        /**
+         * The data to append the sectors to, or {@code null} if the sectors
+         * are kept until {@link #flushTo(PieChart3DData)}.
+         */
+        private final PieChart3DData data;
+
+        /**
+         * Maps the column indices to 0 for the radius, 1 for the angle and 2
+         * for the color intensity values; other columns map to -1.
+         */
+        private final int[] columnSlots;
+
+        private final byte delimiter = PieChart3DCsvLoader.this.delimiter;
+
+        private double[] sectorRadiusValues;
+        private double[] sectorAngleValues;
+        private double[] sectorColorIntensityValues;
+
+        /**
+         * The number of the buffered sectors.
+         */
+        private int size;
+
+        private long numberOfSectors;
+        private long numberOfLines;
+        private boolean skipHeader;
+
+        /**
+         * The parse error of a split, if any.
+         */
+        private MalformedLineException error;
+
+        private final double[] values = new double[3];
+
+        LineParser(PieChart3DData data, boolean skipHeader) {
+            this.data       = data;
+            this.skipHeader = skipHeader;
+            this.columnSlots = new int[Math.max(radiusColumn,
+                                       Math.max(angleColumn,
+                                                colorIntensityColumn)) + 1];
+
+            Arrays.fill(columnSlots, -1);
+            columnSlots[radiusColumn]         = 0;
+            columnSlots[angleColumn]          = 1;
+            columnSlots[colorIntensityColumn] = 2;
+
+            sectorRadiusValues         = new double[chunkSize];
+            sectorAngleValues          = new double[chunkSize];
+            sectorColorIntensityValues = new double[chunkSize];
+        }
+
+        /**
+         * Parses the lines in {@code buffer[from, to)}. Unless
+         * {@code endOfInput} is set, a last line without a line end is left
+         * unparsed.
+         *
+         * @return the position following the last parsed line.
+         */
+        int parseLines(ByteBuffer buffer,
+                       int from,
+                       int to,
+                       boolean endOfInput) {
+            int lineStart = from;
+
+            while (lineStart < to) {
+                int lineEnd = lineStart;
+
+                while (lineEnd < to && buffer.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+
+                if (lineEnd == to && !endOfInput) {
+                    return lineStart;
+                }
+
+                parseLine(buffer, lineStart, lineEnd);
+                lineStart = lineEnd + 1;
+            }
+
+            return to;
+        }
+
+        void flush() {
+            flushTo(data);
+        }
+
+        void flushTo(PieChart3DData target) {
+            target.addAll(target.size(),
+                          sectorRadiusValues,
+                          sectorAngleValues,
+                          sectorColorIntensityValues,
+                          0,
+                          size);
+            size = 0;
+        }
+
+        private void parseLine(ByteBuffer buffer, int from, int to) {
+            numberOfLines++;
+
+            if (to > from && buffer.get(to - 1) == '\r') {
+                to--;
+            }
+
+            if (skipHeader) {
+                skipHeader = false;
+                return;
+            }
+
+            int index = from;
+
+            while (index < to && isBlank(buffer.get(index))) {
+                index++;
+            }
+
+            if (index == to) {
+                return;
+            }
+
+            int column = 0;
+            int numberOfValues = 0;
+
+            while (true) {
+                int fieldEnd = findFieldEnd(buffer, index, to);
+
+                if (column < columnSlots.length && columnSlots[column] >= 0) {
+                    values[columnSlots[column]] =
+                            parseValue(buffer, index, fieldEnd, column);
+
+                    if (++numberOfValues == 3) {
+                        break;
+                    }
+                }
+
+                if (fieldEnd == to) {
+                    throw new MalformedLineException(numberOfLines,
+                                                     column + 1,
+                                                     "Missing column");
+                }
+
+                index = fieldEnd + 1;
+                column++;
+            }
+
+            if (size == sectorRadiusValues.length) {
+                if (data != null) {
+                    flush();
+                } else {
+                    grow();
+                }
+            }
+
+            sectorRadiusValues[size]         = values[0];
+            sectorAngleValues[size]          = values[1];
+            sectorColorIntensityValues[size] = values[2];
+            size++;
+            numberOfSectors++;
+        }
+
+        /**
+         * Returns the position of the delimiter ending the field starting at
+         * {@code from}, or {@code to} if the field is the last one.
+         */
+        private int findFieldEnd(ByteBuffer buffer, int from, int to) {
+            int index = from;
+
+            while (index < to && isBlank(buffer.get(index))
+                    && buffer.get(index) != delimiter) {
+                index++;
+            }
+
+            if (index < to && buffer.get(index) == '"') {
+                // Skip the quoted text, where "" stands for a quote:
+                for (index++; index < to; index++) {
+                    if (buffer.get(index) == '"') {
+                        if (index + 1 < to && buffer.get(index + 1) == '"') {
+                            index++;
+                        } else {
+                            index++;
+                            break;
+                        }
+                    }
+                }
+            }
+
+            while (index < to && buffer.get(index) != delimiter) {
+                index++;
+            }
+
+            return index;
+        }
+
+        private double parseValue(ByteBuffer buffer,
+                                  int from,
+                                  int to,
+                                  int column) {
+            while (from < to && isBlank(buffer.get(from))) {
+                from++;
+            }
+
+            while (to > from && isBlank(buffer.get(to - 1))) {
+                to--;
+            }
+
+            if (to - from >= 2
+                    && buffer.get(from) == '"'
+                    && buffer.get(to - 1) == '"') {
+                from++;
+                to--;
+
+                while (from < to && isBlank(buffer.get(from))) {
+                    from++;
+                }
+
+                while (to > from && isBlank(buffer.get(to - 1))) {
+                    to--;
+                }
+            }
+
+            double value = parseNumber(buffer, from, to);
+
+            if (Double.isNaN(value)) {
+                throw new MalformedLineException(numberOfLines,
+                                                 column,
+                                                 "Malformed value");
+            }
+
+            if (Double.isInfinite(value)) {
+                throw new MalformedLineException(numberOfLines,
+                                                 column,
+                                                 "Infinite value");
+            }
+
+            if (value < 0.0) {
+                throw new MalformedLineException(numberOfLines,
+                                                 column,
+                                                 "Negative value");
+            }
+
+            return value;
+        }
+
+        private void grow() {
+            int capacity = 2 * sectorRadiusValues.length;
+            sectorRadiusValues = Arrays.copyOf(sectorRadiusValues, capacity);
+            sectorAngleValues  = Arrays.copyOf(sectorAngleValues, capacity);
+            sectorColorIntensityValues =
+                    Arrays.copyOf(sectorColorIntensityValues, capacity);
+        }
+    }
+}
@@ -0,0 +1,770 @@
+package com.github.coderodde.javafx;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * This class implements a columnar storage for pie chart entries. Instead of
+ * keeping one {@link PieChart3DEntry} object per sector, the three dimensions
+ * of all the sectors are stored in three parallel {@code double} arrays that
+ * grow in an amortized fashion.
+ * <p>
+ * The sum of the sector angle values and the maxima of the sector radius and
+ * color intensity values are maintained incrementally on every modification,
+ * so that querying them does not require a scan over all the sectors.
+ * <p>
+ * Every modification increments the modification count and extends the range
+ * of changed sector indices, which allows the renderers to skip or narrow down
+ * the redraws.
+ * <p>
+ * The bulk operations validate all their input before modifying anything and
+ * apply the changes in a single pass. Several modifications may be grouped by
+ * {@link #batch(Consumer)}, which counts them as one modification and 
+ * recomputes the maxima once.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class PieChart3DData {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /**
+     * Holds the sector radius values.
+     */
+    private double[] sectorRadiusValues;
+
+    /**
+     * Holds the sector angle values.
+     */
+    private double[] sectorAngleValues;
+
+    /**
+     * Holds the sector color intensity values.
+     */
+    private double[] sectorColorIntensityValues;
+
+    /**
+     * Holds the number of sectors stored.
+     */
+    private int size;
+    
+    /**
+     * Maintains the maximum sector radius value.
+     */
+    private final MaximumTree sectorRadiusValueTree = new MaximumTree();
+    
+    /**
+     * Maintains the maximum sector color intensity value.
+     */
+    private final MaximumTree sectorColorIntensityValueTree = 
+            new MaximumTree();
+    
+    /**
+     * Maintains the prefix sums of the sector angle values for locating 
+     * sectors by angle. Also provides the sum of all the angle values, which
+     * is thus always computed from the current values instead of being
+     * adjusted by every change, and cannot drift.
+     */
+    private final PrefixSumTree sectorAngleValuePrefixSums = 
+            new PrefixSumTree();
+    
+    /**
+     * Counts all the modifications of this data.
+     */
+    private long modificationCount;
+    
+    /**
+     * The modification count at which the changed range was last reset.
+     */
+    private long changedRangeModificationCount;
+    
+    /**
+     * The smallest index changed since the last reset of the changed range.
+     */
+    private int changedFromIndex = Integer.MAX_VALUE;
+    
+    /**
+     * One past the largest index changed since the last reset of the changed 
+     * range. Equals {@link Integer#MAX_VALUE} if the change extends to the 
+     * last sector.
+     */
+    private int changedToIndex = -1;
+    
+    /**
+     * The nesting depth of the running {@link #batch(Consumer)} calls.
+     */
+    private int batchDepth;
+    
+    /**
+     * Indicates whether this data was modified in the running batch.
+     */
+    private boolean modifiedInBatch;
+
+    public PieChart3DData() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public PieChart3DData(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException(
+                    "The initial capacity is negative.");
+        }
+
+        sectorRadiusValues         = new double[initialCapacity];
+        sectorAngleValues          = new double[initialCapacity];
+        sectorColorIntensityValues = new double[initialCapacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public double getSectorRadiusValue(int index) {
+        Objects.checkIndex(index, size);
+        return sectorRadiusValues[index];
+    }
+
+    public double getSectorAngleValue(int index) {
+        Objects.checkIndex(index, size);
+        return sectorAngleValues[index];
+    }
+
+    public double getSectorColorIntensityValue(int index) {
+        Objects.checkIndex(index, size);
+        return sectorColorIntensityValues[index];
+    }
+
+    public long getModificationCount() {
+        return modificationCount;
+    }
+    
+    /**
+     * Returns the sum of all the sector angle values. Runs in logarithmic
+     * time, or in linear time after an insertion or removal in the middle.
+     * 
+     * @return the sum of the angle values.
+     */
+    public double getSectorAngleValueSum() {
+        return sectorAngleValuePrefixSums.getPrefixSum(sectorAngleValues,
+                                                       size,
+                                                       size);
+    }
+    
+    /**
+     * Returns the maximum sector radius value, or zero if this data is empty.
+     * 
+     * @return the maximum sector radius value.
+     */
+    public double getMaximumSectorRadiusValue() {
+        return size == 0 ? 0.0 : sectorRadiusValueTree.getMaximum(
+                sectorRadiusValues, 
+                size);
+    }
+    
+    /**
+     * Returns the maximum sector color intensity value, or zero if this data
+     * is empty.
+     * 
+     * @return the maximum sector color intensity value.
+     */
+    public double getMaximumSectorColorIntensityValue() {
+        return size == 0 ? 0.0 : sectorColorIntensityValueTree.getMaximum(
+                sectorColorIntensityValues,
+                size);
+    }
+
+    /**
+     * Returns the sum of the angle values of the sectors {@code 0} 
+     * (inclusive) through {@code toIndex} (exclusive) in logarithmic time.
+     * 
+     * @param toIndex the number of the summed sectors.
+     * @return the prefix sum of the angle values.
+     */
+    public double getSectorAngleValuePrefixSum(int toIndex) {
+        Objects.checkIndex(toIndex, size + 1);
+        return sectorAngleValuePrefixSums.getPrefixSum(sectorAngleValues,
+                                                       size,
+                                                       toIndex);
+    }
+    
+    /**
+     * Returns the index of the sector whose angular span contains the 
+     * cumulative angle value {@code angleValue}, that is, the sector 
+     * {@code i} such that the angle values of the sectors before {@code i} 
+     * sum up to at most {@code angleValue} and including the sector {@code i}
+     * to more than {@code angleValue}. Runs in logarithmic time.
+     * 
+     * @param angleValue the cumulative angle value.
+     * @return the index of the sector, or -1 if {@code angleValue} is outside
+     *         of {@code [0, getSectorAngleValueSum()]} or there are no 
+     *         sectors.
+     */
+    public int findSectorIndex(double angleValue) {
+        if (size == 0 
+                || !(angleValue >= 0.0) 
+                || angleValue > getSectorAngleValueSum()) {
+            return -1;
+        }
+        
+        return sectorAngleValuePrefixSums.findIndex(sectorAngleValues,
+                                                    size,
+                                                    angleValue);
+    }
+    
+    /**
+     * Returns a view of the {@code index}th entry. The view holds no values
+     * of its own: it reads the current values of the sector at 
+     * {@code index}, and its setters write through to this data. The view 
+     * is bound to the index, not to the sector: after an insertion or a 
+     * removal before {@code index}, it reads and writes the sector now at 
+     * {@code index}, and it throws an {@link IndexOutOfBoundsException} once 
+     * {@code index} is past the end.
+     *
+     * @param index the index of the entry.
+     * @return a view of the entry.
+     */
+    public PieChart3DEntry get(int index) {
+        Objects.checkIndex(index, size);
+        return new PieChart3DEntry(this, index);
+    }
+
+    public void add(PieChart3DEntry entry) {
+        Objects.requireNonNull(entry, "The entry is null.");
+
+        add(entry.getSectorRadiusValue(),
+            entry.getSectorAngleValue(),
+            entry.getSectorColorIntensityValue());
+    }
+
+    public void add(int index, PieChart3DEntry entry) {
+        Objects.requireNonNull(entry, "The entry is null.");
+
+        add(index,
+            entry.getSectorRadiusValue(),
+            entry.getSectorAngleValue(),
+            entry.getSectorColorIntensityValue());
+    }
+
+    public void set(int index, PieChart3DEntry entry) {
+        Objects.requireNonNull(entry, "The entry is null.");
+
+        set(index,
+            entry.getSectorRadiusValue(),
+            entry.getSectorAngleValue(),
+            entry.getSectorColorIntensityValue());
+    }
+
+    public void add(double sectorRadiusValue,
+                    double sectorAngleValue,
+                    double sectorColorIntensityValue) {
+        add(size,
+            sectorRadiusValue,
+            sectorAngleValue,
+            sectorColorIntensityValue);
+    }
+
+    public void add(int index,
+                    double sectorRadiusValue,
+                    double sectorAngleValue,
+                    double sectorColorIntensityValue) {
+        Objects.checkIndex(index, size + 1);
+        PieChart3DEntry.checkValue(sectorRadiusValue);
+        PieChart3DEntry.checkValue(sectorAngleValue);
+        PieChart3DEntry.checkValue(sectorColorIntensityValue);
+
+        ensureCapacity(size + 1);
+
+        int numberOfMovedValues = size - index;
+
+        if (numberOfMovedValues > 0) {
+            shift(index, index + 1, numberOfMovedValues);
+        }
+
+        sectorRadiusValues        [index] = sectorRadiusValue;
+        sectorAngleValues         [index] = sectorAngleValue;
+        sectorColorIntensityValues[index] = sectorColorIntensityValue;
+        size++;
+        markChanged(index, Integer.MAX_VALUE, 1);
+        
+        if (numberOfMovedValues > 0) {
+            invalidateTrees();
+        } else {
+            updateMaxima(index, sectorRadiusValue, sectorColorIntensityValue);
+            sectorAngleValuePrefixSums.append(sectorAngleValues, index);
+        }
+    }
+
+    public void set(int index,
+                    double sectorRadiusValue,
+                    double sectorAngleValue,
+                    double sectorColorIntensityValue) {
+        Objects.checkIndex(index, size);
+        PieChart3DEntry.checkValue(sectorRadiusValue);
+        PieChart3DEntry.checkValue(sectorAngleValue);
+        PieChart3DEntry.checkValue(sectorColorIntensityValue);
+
+        sectorRadiusValues        [index] = sectorRadiusValue;
+        sectorAngleValues         [index] = sectorAngleValue;
+        sectorColorIntensityValues[index] = sectorColorIntensityValue;
+        
+        if (batchDepth > 0) {
+            sectorAngleValuePrefixSums.invalidate();
+        } else {
+            sectorAngleValuePrefixSums.update(sectorAngleValues, index);
+        }
+        
+        updateMaxima(index, sectorRadiusValue, sectorColorIntensityValue);
+        markChanged(index, index + 1, 1);
+    }
+
+    public void remove(int index) {
+        Objects.checkIndex(index, size);
+
+        int numberOfMovedValues = size - index - 1;
+
+        if (numberOfMovedValues > 0) {
+            shift(index + 1, index, numberOfMovedValues);
+            invalidateTrees();
+        } else {
+            sectorRadiusValueTree.removeLast(index);
+            sectorColorIntensityValueTree.removeLast(index);
+            sectorAngleValuePrefixSums.removeLast();
+        }
+
+        size--;
+        markChanged(index, Integer.MAX_VALUE, 1);
+    }
+
+    public void clear() {
+        int numberOfRemovedEntries = size;
+        size = 0;
+        invalidateTrees();
+        markChanged(0, Integer.MAX_VALUE, numberOfRemovedEntries);
+    }
+    
+    /**
+     * Appends all the {@code entries} in their iteration order.
+     * 
+     * @param entries the entries to append.
+     */
+    public void addAll(Collection<? extends PieChart3DEntry> entries) {
+        addAll(size, entries);
+    }
+    
+    /**
+     * Inserts all the {@code entries} in their iteration order starting at
+     * {@code index}. The subsequent sectors are shifted only once. The values
+     * of the entries are read before any sector is shifted, so the entries 
+     * may be views of this data.
+     * 
+     * @param index   the index of the first inserted entry.
+     * @param entries the entries to insert.
+     */
+    public void addAll(int index,
+                       Collection<? extends PieChart3DEntry> entries) {
+        Objects.checkIndex(index, size + 1);
+        Objects.requireNonNull(entries, "The entry collection is null.");
+        double[][] values = readEntryValues(entries.toArray());
+        
+        addAll(index, values[0], values[1], values[2], 0, values[0].length);
+    }
+    
+    /**
+     * Inserts {@code length} sectors starting at {@code index}. The values of
+     * the {@code i}th inserted sector are read from the position 
+     * {@code offset + i} of the three value arrays.
+     * 
+     * @param index                      the index of the first inserted 
+     *                                   sector.
+     * @param sectorRadiusValues         the radius values.
+     * @param sectorAngleValues          the angle values.
+     * @param sectorColorIntensityValues the color intensity values.
+     * @param offset                     the position of the first values.
+     * @param length                     the number of the inserted sectors.
+     */
+    public void addAll(int index,
+                       double[] sectorRadiusValues,
+                       double[] sectorAngleValues,
+                       double[] sectorColorIntensityValues,
+                       int offset,
+                       int length) {
+        Objects.checkIndex(index, size + 1);
+        checkValues(sectorRadiusValues, offset, length);
+        checkValues(sectorAngleValues, offset, length);
+        checkValues(sectorColorIntensityValues, offset, length);
+        
+        openGap(index, length);
+        copyValues(sectorRadiusValues,
+                   sectorAngleValues,
+                   sectorColorIntensityValues,
+                   offset,
+                   index,
+                   length);
+        
+        closeInsertion(index, length);
+    }
+    
+    /**
+     * Replaces the sectors starting at {@code fromIndex} with the 
+     * {@code entries} in their iteration order. The values of the entries 
+     * are read before any sector is replaced, so the entries may be views of
+     * this data.
+     * 
+     * @param fromIndex the index of the first replaced sector.
+     * @param entries   the new entries.
+     */
+    public void setRange(int fromIndex,
+                         List<? extends PieChart3DEntry> entries) {
+        Objects.requireNonNull(entries, "The entry list is null.");
+        Object[] array = entries.toArray();
+        Objects.checkFromIndexSize(fromIndex, array.length, size);
+        double[][] values = readEntryValues(array);
+        
+        setRange(fromIndex, 
+                 values[0], 
+                 values[1], 
+                 values[2], 
+                 0, 
+                 array.length);
+    }
+    
+    /**
+     * Replaces {@code length} sectors starting at {@code fromIndex}. The 
+     * values of the {@code i}th replaced sector are read from the position 
+     * {@code offset + i} of the three value arrays.
+     * 
+     * @param fromIndex                  the index of the first replaced 
+     *                                   sector.
+     * @param sectorRadiusValues         the radius values.
+     * @param sectorAngleValues          the angle values.
+     * @param sectorColorIntensityValues the color intensity values.
+     * @param offset                     the position of the first values.
+     * @param length                     the number of the replaced sectors.
+     */
+    public void setRange(int fromIndex,
+                         double[] sectorRadiusValues,
+                         double[] sectorAngleValues,
+                         double[] sectorColorIntensityValues,
+                         int offset,
+                         int length) {
+        Objects.checkFromIndexSize(fromIndex, length, size);
+        checkValues(sectorRadiusValues, offset, length);
+        checkValues(sectorAngleValues, offset, length);
+        checkValues(sectorColorIntensityValues, offset, length);
+        
+        copyValues(sectorRadiusValues,
+                   sectorAngleValues,
+                   sectorColorIntensityValues,
+                   offset,
+                   fromIndex,
+                   length);
+        
+        closeUpdate(fromIndex, length);
+    }
+    
+    /**
+     * Removes the sectors {@code fromIndex} (inclusive) through 
+     * {@code toIndex} (exclusive).
+     * 
+     * @param fromIndex the index of the first removed sector.
+     * @param toIndex   one past the index of the last removed sector.
+     */
+    public void removeRange(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+        
+        if (fromIndex == toIndex) {
+            return;
+        }
+        
+        shift(toIndex, fromIndex, size - toIndex);
+        size -= toIndex - fromIndex;
+        invalidateTrees();
+        markChanged(fromIndex, Integer.MAX_VALUE, toIndex - fromIndex);
+    }
+    
+    /**
+     * Runs {@code mutator} on this data as a single modification: the 
+     * modification count is incremented at most once, and the maxima are 
+     * recomputed once, on the first query after the batch. Batches may nest.
+     * 
+     * @param mutator the operation modifying this data.
+     */
+    public void batch(Consumer<? super PieChart3DData> mutator) {
+        Objects.requireNonNull(mutator, "The mutator is null.");
+        batchDepth++;
+        
+        try {
+            mutator.accept(this);
+        } finally {
+            if (--batchDepth == 0 && modifiedInBatch) {
+                modifiedInBatch = false;
+                modificationCount++;
+            }
+        }
+    }
+
+    /**
+     * Makes sure that this data can accommodate at least {@code capacity}
+     * sectors without reallocating the internal arrays.
+     *
+     * @param capacity the requested capacity.
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity <= sectorRadiusValues.length) {
+            return;
+        }
+
+        int nextCapacity = Math.max(capacity,
+                                    sectorRadiusValues.length
+                                 + (sectorRadiusValues.length >> 1)
+                                 + 1);
+
+        sectorRadiusValues = Arrays.copyOf(sectorRadiusValues, nextCapacity);
+        sectorAngleValues  = Arrays.copyOf(sectorAngleValues, nextCapacity);
+        sectorColorIntensityValues =
+                Arrays.copyOf(sectorColorIntensityValues, nextCapacity);
+    }
+
+    /**
+     * Appends {@code length} sectors whose values are read from the position
+     * zero on of the three buffers. The values are copied straight into the
+     * backing arrays and validated there, so the buffers may be memory 
+     * mapped without an intermediate copy.
+     * 
+     * @param sectorRadiusValues         the radius values.
+     * @param sectorAngleValues          the angle values.
+     * @param sectorColorIntensityValues the color intensity values.
+     * @param length                     the number of the appended sectors.
+     */
+    void append(DoubleBuffer sectorRadiusValues,
+                DoubleBuffer sectorAngleValues,
+                DoubleBuffer sectorColorIntensityValues,
+                int length) {
+        ensureCapacity(size + length);
+        
+        // Past the size, so nothing is visible until the values are valid:
+        sectorRadiusValues.get(0, this.sectorRadiusValues, size, length);
+        sectorAngleValues.get(0, this.sectorAngleValues, size, length);
+        sectorColorIntensityValues.get(0, 
+                                       this.sectorColorIntensityValues, 
+                                       size, 
+                                       length);
+        
+        checkValues(this.sectorRadiusValues, size, length);
+        checkValues(this.sectorAngleValues, size, length);
+        checkValues(this.sectorColorIntensityValues, size, length);
+        closeInsertion(size, length);
+    }
+
+    // The following three accessors expose the backing arrays to the package
+    // so that the renderers may iterate over them without bounds checks. Only
+    // the first size() elements are meaningful.
+
+    double[] sectorRadiusValues() {
+        return sectorRadiusValues;
+    }
+
+    double[] sectorAngleValues() {
+        return sectorAngleValues;
+    }
+
+    double[] sectorColorIntensityValues() {
+        return sectorColorIntensityValues;
+    }
+
+    /**
+     * Returns {@code true} if the changed range describes all the 
+     * modifications made since the modification count was 
+     * {@code modificationCount}.
+     * 
+     * @param modificationCount the modification count of interest.
+     * @return {@code true} if the changed range is usable.
+     */
+    boolean isChangedRangeValidSince(long modificationCount) {
+        return changedRangeModificationCount == modificationCount;
+    }
+    
+    int getChangedFromIndex() {
+        return changedFromIndex;
+    }
+    
+    int getChangedToIndex() {
+        return changedToIndex;
+    }
+    
+    void resetChangedRange() {
+        changedRangeModificationCount = modificationCount;
+        changedFromIndex = Integer.MAX_VALUE;
+        changedToIndex = -1;
+    }
+    
+    private void markChanged(int fromIndex, int toIndex, int numberOfEntries) {
+        if (PieChart3DMetrics.ENABLED) {
+            PieChart3DMetrics.getInstance()
+                             .recordMutatedEntries(numberOfEntries);
+        }
+        
+        if (batchDepth > 0) {
+            modifiedInBatch = true;
+        } else {
+            modificationCount++;
+        }
+        
+        changedFromIndex = Math.min(changedFromIndex, fromIndex);
+        changedToIndex   = Math.max(changedToIndex, toIndex);
+    }
+    
+    private void updateMaxima(int index,
+                              double sectorRadiusValue,
+                              double sectorColorIntensityValue) {
+        if (batchDepth > 0) {
+            // Rebuilding once after the batch beats many point updates:
+            sectorRadiusValueTree.invalidate();
+            sectorColorIntensityValueTree.invalidate();
+            return;
+        }
+        
+        sectorRadiusValueTree.update(index, sectorRadiusValue, size);
+        sectorColorIntensityValueTree.update(index,
+                                             sectorColorIntensityValue,
+                                             size);
+    }
+    
+    private void invalidateTrees() {
+        sectorRadiusValueTree.invalidate();
+        sectorColorIntensityValueTree.invalidate();
+        sectorAngleValuePrefixSums.invalidate();
+    }
+    
+    /**
+     * Makes room for {@code length} sectors at {@code index}.
+     */
+    private void openGap(int index, int length) {
+        ensureCapacity(size + length);
+        
+        if (index < size) {
+            shift(index, index + length, size - index);
+        }
+    }
+    
+    /**
+     * Finishes the insertion of the {@code length} sectors starting at 
+     * {@code index}.
+     */
+    private void closeInsertion(int index, int length) {
+        if (length == 0) {
+            return;
+        }
+        
+        size += length;
+        invalidateTrees();
+        markChanged(index, Integer.MAX_VALUE, length);
+    }
+    
+    /**
+     * Finishes the update of the {@code length} sectors starting at 
+     * {@code fromIndex}.
+     */
+    private void closeUpdate(int fromIndex, int length) {
+        if (length == 0) {
+            return;
+        }
+        
+        invalidateTrees();
+        markChanged(fromIndex, fromIndex + length, length);
+    }
+    
+    /**
+     * Copies the {@code length} input values starting at {@code offset} to
+     * the sectors starting at {@code index}.
+     */
+    private void copyValues(double[] sectorRadiusValues,
+                            double[] sectorAngleValues,
+                            double[] sectorColorIntensityValues,
+                            int offset,
+                            int index,
+                            int length) {
+        System.arraycopy(sectorRadiusValues,
+                         offset,
+                         this.sectorRadiusValues,
+                         index,
+                         length);
+        
+        System.arraycopy(sectorAngleValues,
+                         offset,
+                         this.sectorAngleValues,
+                         index,
+                         length);
+        
+        System.arraycopy(sectorColorIntensityValues,
+                         offset,
+                         this.sectorColorIntensityValues,
+                         index,
+                         length);
+    }
+    
+    /**
+     * Copies the values of {@code entries} into three columns.
+     * 
+     * @param entries the entries.
+     * @return the radius, the angle and the color intensity values.
+     */
+    private static double[][] readEntryValues(Object[] entries) {
+        int length = entries.length;
+        double[] radiusValues    = new double[length];
+        double[] angleValues     = new double[length];
+        double[] intensityValues = new double[length];
+        
+        for (int i = 0; i < length; i++) {
+            PieChart3DEntry entry = 
+                    (PieChart3DEntry) Objects.requireNonNull(
+                            entries[i], 
+                            "An entry is null.");
+            
+            radiusValues   [i] = entry.getSectorRadiusValue();
+            angleValues    [i] = entry.getSectorAngleValue();
+            intensityValues[i] = entry.getSectorColorIntensityValue();
+        }
+        
+        return new double[][] { radiusValues, angleValues, intensityValues };
+    }
+    
+    private static void checkValues(double[] values, int offset, int length) {
+        Objects.requireNonNull(values, "The value array is null.");
+        Objects.checkFromIndexSize(offset, length, values.length);
+        
+        for (int i = offset; i < offset + length; i++) {
+            PieChart3DEntry.checkValue(values[i]);
+        }
+    }
+
+    private void shift(int sourceIndex, int targetIndex, int length) {
+        System.arraycopy(sectorRadiusValues,
+                         sourceIndex,
+                         sectorRadiusValues,
+                         targetIndex,
+                         length);
+
+        System.arraycopy(sectorAngleValues,
+                         sourceIndex,
+                         sectorAngleValues,
+                         targetIndex,
+                         length);
+
+        System.arraycopy(sectorColorIntensityValues,
+                         sourceIndex,
+                         sectorColorIntensityValues,
+                         targetIndex,
+                         length);
+    }
+}
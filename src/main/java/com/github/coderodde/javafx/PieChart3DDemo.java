@@ -1,7 +1,17 @@
 package com.github.coderodde.javafx;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Arrays;
 import java.util.Random;
-import java.util.Scanner;
+import java.util.StringTokenizer;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.DoubleAdder;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.concurrent.Task;
@@ -14,6 +24,7 @@ import javafx.scene.paint.Color;
 import javafx.stage.Screen;
 import javafx.stage.Stage;
 import javafx.stage.WindowEvent;
+import javafx.util.Duration;
  
 public class PieChart3DDemo extends Application {
     
@@ -22,10 +33,18 @@ public class PieChart3DDemo extends Application {
     private static final int MAXIMUM_NUMBER_OF_SECTORS = 20;
     private static final double MAXIMUM_VALUE = 200.0;
     private static final double FULL_ANGLE = 360.0;
+    private static final Duration TRANSITION_DURATION = Duration.seconds(1.0);
     private static final Color CHART_BACKGROUND_COLOR = new Color(0.9, 
                                                                   0.9,
                                                                   0.9,
                                                                   1.0);
+    
+    /**
+     * The command line option switching the controlled demo to the binary
+     * command stream.
+     */
+    private static final String BINARY_INPUT_OPTION = "--binary";
+    
     private static final DemoTask DEMO_TASK = new DemoTask();
     private static final ControlledDemoTask CONTROLLED_DEMO_TASK = 
                      new ControlledDemoTask();
@@ -50,10 +69,13 @@ public class PieChart3DDemo extends Application {
                           DIMENSION,
                           DIMENSION));
         
-        DEMO_TASK.setRoot(root);
+        PieChart3D demoChart = new PieChart3D(CANVAS_DIMENSION);
+        root.getChildren().add(demoChart);
+        
+        DEMO_TASK.setChart(demoChart);
         DEMO_TASK.setStage(primaryStage);
         
-        new Thread(DEMO_TASK).start();
+        Thread.ofVirtual().name("demo").start(DEMO_TASK);
         
         Stage constructorStage = new Stage();
         StackPane constructorRoot = new StackPane();
@@ -78,11 +100,16 @@ public class PieChart3DDemo extends Application {
         constructorStage.setY(startY);
         constructorStage.setX(startX2);
         
-        CONTROLLED_DEMO_TASK.setRoot(constructorRoot);
+        constructorRoot.getChildren().add(pieChart);
+        
         CONTROLLED_DEMO_TASK.setStage(constructorStage);
         CONTROLLED_DEMO_TASK.setChart(pieChart);
+        CONTROLLED_DEMO_TASK.setBinary(
+                getParameters().getRaw().contains(BINARY_INPUT_OPTION));
         
-        new Thread(CONTROLLED_DEMO_TASK).start();
+        Thread.ofVirtual()
+              .name("controlled-demo")
+              .start(CONTROLLED_DEMO_TASK);
         
         primaryStage.show();
         constructorStage.show();
@@ -107,28 +134,30 @@ public class PieChart3DDemo extends Application {
         return FULL_ANGLE * random.nextDouble();
     }
     
-    static PieChart3D getRandomChart(Random random) {
+    /**
+     * Replaces the settings of {@code chart} with random ones and animates its
+     * entries to random ones. Reusing the chart keeps the scene graph intact.
+     * 
+     * @param chart  the chart to randomize.
+     * @param random the random number generator.
+     */
+    static void randomizeChart(PieChart3D chart, Random random) {
         double angleOffset = getRandomAngleOffset(random);
         int numberOfSectors = getRandomNumberOfSectors(random);
         
-        PieChart3D chart = new PieChart3D(CANVAS_DIMENSION);
-        
         chart.setChartBackgroundColor(CHART_BACKGROUND_COLOR);
         chart.setAngleOffset(angleOffset);
         chart.setOriginalIntensityColor(getRandomColor(random));
-        chart.setChartBackgroundColor(CHART_BACKGROUND_COLOR);
+        
+        PieChart3DData target = new PieChart3DData(numberOfSectors);
         
         for (int i = 0; i < numberOfSectors; i++) {
-            PieChart3DEntry entry = 
-                    new PieChart3DEntry()
-                        .withSectorAngleValue(getRandomValue(random))
-                        .withSectorColorIntensityValue(getRandomValue(random))
-                        .withSectorRadiusValue(getRandomValue(random));
-            
-            chart.add(entry);
+            target.add(getRandomValue(random),
+                       getRandomValue(random),
+                       getRandomValue(random));
         }
         
-        return chart;
+        chart.animateTo(target, TRANSITION_DURATION);
     }
 }
 
@@ -136,18 +165,32 @@ final class DemoTask extends Task<Void> {
 
     private static final long SLEEP_DURATION_IN_MILLISECONDS = 1L;
     private static final int FRAMES_PER_CHART = 2_000;
+    private static final double ROTATION_STEP = 0.1;
     
     private volatile boolean doRun = true;
     private final Random random = new Random();
-    private StackPane root;
+    private PieChart3D chart;
     private Stage stage;
     
+    /**
+     * The rotation accumulated since the last post to the JavaFX application
+     * thread.
+     */
+    private final DoubleAdder pendingRotation = new DoubleAdder();
+    
+    /**
+     * Indicates whether a rotation post is waiting in the event queue. At 
+     * most one post is queued at a time; the rotation steps taken meanwhile 
+     * are accumulated in {@link #pendingRotation}.
+     */
+    private final AtomicBoolean rotationPosted = new AtomicBoolean();
+    
     void stop() {
         doRun = false;
     }
     
-    void setRoot(StackPane root) {
-        this.root = root;
+    void setChart(PieChart3D chart) {
+        this.chart = chart;
     }
     
     void setStage(Stage stage) {
@@ -166,17 +209,13 @@ final class DemoTask extends Task<Void> {
         });
         
         while (doRun) {
-            PieChart3D chart = PieChart3DDemo.getRandomChart(random);
+            Platform.runLater(() -> {
+                PieChart3DDemo.randomizeChart(chart, random);
+                chart.requestDraw();
+            });
             
             for (int i = 0; i < FRAMES_PER_CHART; i++) {
-
-                Platform.runLater(() -> {    
-                    root.getChildren().clear();
-                    root.getChildren().add(chart);
-                    
-                    chart.setAngleOffset(chart.getAngleOffset() + 0.1);
-                    chart.draw();
-                });
+                postRotation();
                 
                 try {
                     Thread.sleep(SLEEP_DURATION_IN_MILLISECONDS);
@@ -186,26 +225,82 @@ final class DemoTask extends Task<Void> {
         
         return null;
     }
+    
+    private void postRotation() {
+        pendingRotation.add(ROTATION_STEP);
+        
+        if (rotationPosted.getAndSet(true)) {
+            // The queued post will pick up this step as well:
+            return;
+        }
+        
+        Platform.runLater(() -> {
+            rotationPosted.set(false);
+            chart.setAngleOffset(chart.getAngleOffset() 
+                               + pendingRotation.sumThenReset());
+            chart.requestDraw();
+        });
+    }
 }
 
+/**
+ * This task reads the commands of the controlled demo from the standard
+ * input. The commands are parsed in bulk into a {@link DemoCommandBatch}
+ * until no more input is immediately available or the batch is full, and
+ * each batch is applied on the JavaFX application thread at once, so a piped
+ * script of any length costs a draw per batch rather than per command. While
+ * a batch is being applied, the next one is parsed.
+ * <p>
+ * The text commands are line-oriented; blank lines and lines starting with
+ * {@code #} are skipped. A malformed or failing line is reported with its
+ * number and the session goes on. With {@link #setBinary(boolean)}, the
+ * input is the binary command stream described in {@link DemoCommandBatch}.
+ */
 final class ControlledDemoTask extends Task<Void> {
     
+    /**
+     * The maximum number of commands applied as a single batch.
+     */
+    private static final int MAXIMUM_BATCH_SIZE = 4096;
+    
+    private static final int INPUT_BUFFER_SIZE = 1 << 16;
+    
     private Stage stage;
-    private StackPane root;
     private PieChart3D chart;
+    private boolean binary;
+    
+    /**
+     * The batch being filled by this task.
+     */
+    private DemoCommandBatch parsedBatch = new DemoCommandBatch();
+    
+    /**
+     * The batch posted to the JavaFX application thread.
+     */
+    private DemoCommandBatch postedBatch = new DemoCommandBatch();
+    
+    /**
+     * Released when {@link #postedBatch} is applied and may be refilled.
+     */
+    private final Semaphore postedBatchApplied = new Semaphore(1);
+    
+    /**
+     * The values of the command being parsed.
+     */
+    private final double[] values = new double[3];
     
     void setStage(Stage stage) {
         this.stage = stage;
     }
     
-    void setRoot(StackPane root) {
-        this.root = root;
-    }
-    
     void setChart(PieChart3D chart) {
         this.chart = chart;
     }
     
+    void setBinary(boolean binary) {
+        this.binary = binary;
+    }
+    
     @Override
     protected Void call() throws Exception {
         stage.setOnCloseRequest(new EventHandler<WindowEvent>() {
@@ -217,147 +312,299 @@ final class ControlledDemoTask extends Task<Void> {
             }
         });
         
-        Scanner scanner = new Scanner(System.in);
-        
         try {
-            loop:
-            while (true) {
-                System.out.print("> ");
-
-                String command = scanner.next().trim();
-
-                switch (command) {
-                    case "quit":
-                    case "exit":
-                        System.out.println("Bye!");
-                        Platform.exit();
-                        System.exit(0);
-                        break loop;
-
-                    case "add":
-                        processAdd(chart, scanner);
-                        break;
-
-                    case "add-at":
-                        processAddAt(chart, scanner);
-                        break;
-
-                    case "set":
-                        processSet(chart, scanner);
-                        break;
-
-                    case "print":
-                        processPrint(chart, scanner);
-                        break;
-
-                    case "size":
-                        System.out.println(chart.size());
-                        break;
-
-                    case "remove":
-                        processRemove(chart, scanner);
-                        break;
-
-                    case "set-box-color":
-                        processSetBoxColor(chart, scanner);
-                        break;
-
-                    case "set-chart-background":
-                        processSetChartBackground(chart, scanner);
-                        break;
-
-                    case "set-color":
-                        processSetColor(chart, scanner);
-                        break;
-
-                    case "set-angle":
-                        processSetAngle(chart, scanner);
-                        break;
-
-                    case "add-angle":
-                        processAddAngle(chart, scanner);
-                        break;
-                }
-
-                Platform.runLater(() -> {
-                    root.getChildren().clear();
-                    root.getChildren().add(chart);
-                    chart.draw();
-                });
+            if (binary) {
+                readBinaryCommands(
+                        new DataInputStream(
+                                new BufferedInputStream(System.in,
+                                                        INPUT_BUFFER_SIZE)));
+            } else {
+                readTextCommands(
+                        new BufferedReader(
+                                new InputStreamReader(System.in),
+                                INPUT_BUFFER_SIZE));
             }
-        } catch (Exception ex) {
+        } catch (IOException ex) {
             System.err.println(ex.getMessage());
-            scanner.reset();
         }
         
+        postBatch();
         return null;
     }
     
-    private static void processAdd(PieChart3D chart, Scanner scanner) {
-        PieChart3DEntry entry = obtainEntry(scanner);
-        chart.add(entry);
-    }
-    
-    private static void processAddAt(PieChart3D chart, Scanner scanner) {
-        int index             = scanner.nextInt();
-        PieChart3DEntry entry = obtainEntry(scanner);
+    private void readTextCommands(BufferedReader reader) 
+            throws IOException, InterruptedException {
+        boolean interactive = System.console() != null;
+        long lineNumber = 0L;
         
-        chart.add(index, entry);
+        while (true) {
+            if (interactive && parsedBatch.isEmpty()) {
+                System.out.print("> ");
+            }
+            
+            String line = reader.readLine();
+            
+            if (line == null) {
+                return;
+            }
+            
+            lineNumber++;
+            
+            try {
+                parseLine(line, lineNumber);
+            } catch (RuntimeException ex) {
+                // Reported after the preceding lines of the batch:
+                parsedBatch.addError(ex.getMessage(), lineNumber);
+            }
+            
+            if (parsedBatch.size() >= MAXIMUM_BATCH_SIZE || !reader.ready()) {
+                postBatch();
+            }
+        }
     }
     
-    private static void processSet(PieChart3D chart, Scanner scanner) {
-        int index = scanner.nextInt();
-        PieChart3DEntry entry = obtainEntry(scanner);
+    private void readBinaryCommands(DataInputStream in) 
+            throws IOException, InterruptedException {
+        long commandNumber = 0L;
         
-        chart.set(index, entry);
-    }
-    
-    private static void processPrint(PieChart3D chart, Scanner scanner) {
-        int index = scanner.nextInt();
-        System.out.println("> " + chart.get(index));
+        while (true) {
+            int opcode = in.read();
+            
+            if (opcode < 0) {
+                return;
+            }
+            
+            commandNumber++;
+            
+            try {
+                readBinaryCommand((byte) opcode, in, commandNumber);
+            } catch (EOFException ex) {
+                parsedBatch.addError("truncated input.", commandNumber);
+                return;
+            } catch (IllegalArgumentException ex) {
+                // The stream cannot be resynchronized after an unknown
+                // opcode:
+                parsedBatch.addError(ex.getMessage(), commandNumber);
+                return;
+            }
+            
+            if (parsedBatch.size() >= MAXIMUM_BATCH_SIZE 
+                    || in.available() == 0) {
+                postBatch();
+            }
+        }
     }
     
-    private static void processRemove(PieChart3D chart, Scanner scanner) {
-        chart.remove(scanner.nextInt());
+    /**
+     * Hands the parsed batch over to the JavaFX application thread as soon as
+     * the previously posted batch is applied.
+     */
+    private void postBatch() throws InterruptedException {
+        if (parsedBatch.isEmpty()) {
+            return;
+        }
+        
+        postedBatchApplied.acquire();
+        
+        DemoCommandBatch batch = parsedBatch;
+        parsedBatch = postedBatch;
+        parsedBatch.clear();
+        postedBatch = batch;
+        
+        Platform.runLater(() -> {
+            try {
+                batch.applyTo(chart, 
+                              System.out,
+                              System.err,
+                              binary ? "Command" : "Line");
+            } finally {
+                postedBatchApplied.release();
+            }
+        });
     }
     
-    private static void processSetBoxColor(PieChart3D pieChart,
-                                           Scanner scanner) {
-        pieChart.setBoxBackgroundColor(obtainColor(scanner));
+    private void parseLine(String line, long lineNumber) {
+        StringTokenizer tokenizer = new StringTokenizer(line);
+        
+        if (!tokenizer.hasMoreTokens()) {
+            return;
+        }
+        
+        String command = tokenizer.nextToken();
+        
+        if (command.startsWith("#")) {
+            return;
+        }
+        
+        byte opcode;
+        int index = 0;
+        double[] values = this.values;
+        Arrays.fill(values, 0.0);
+        
+        switch (command) {
+            case "quit":
+            case "exit":
+                opcode = DemoCommandBatch.QUIT;
+                break;
+                
+            case "add":
+                opcode = DemoCommandBatch.ADD;
+                obtainEntry(tokenizer, values);
+                break;
+                
+            case "add-at":
+                opcode = DemoCommandBatch.ADD_AT;
+                index  = nextInt(tokenizer);
+                obtainEntry(tokenizer, values);
+                break;
+                
+            case "set":
+                opcode = DemoCommandBatch.SET;
+                index  = nextInt(tokenizer);
+                obtainEntry(tokenizer, values);
+                break;
+                
+            case "print":
+                opcode = DemoCommandBatch.PRINT;
+                index  = nextInt(tokenizer);
+                break;
+                
+            case "size":
+                opcode = DemoCommandBatch.SIZE;
+                break;
+                
+            case "remove":
+                opcode = DemoCommandBatch.REMOVE;
+                index  = nextInt(tokenizer);
+                break;
+                
+            case "set-box-color":
+                opcode = DemoCommandBatch.SET_BOX_COLOR;
+                obtainColor(tokenizer, values);
+                break;
+                
+            case "set-chart-background":
+                opcode = DemoCommandBatch.SET_CHART_BACKGROUND;
+                obtainColor(tokenizer, values);
+                break;
+                
+            case "set-color":
+                opcode = DemoCommandBatch.SET_COLOR;
+                obtainColor(tokenizer, values);
+                break;
+                
+            case "set-angle":
+                opcode    = DemoCommandBatch.SET_ANGLE;
+                values[0] = nextDouble(tokenizer);
+                break;
+                
+            case "add-angle":
+                opcode    = DemoCommandBatch.ADD_ANGLE;
+                values[0] = nextDouble(tokenizer);
+                break;
+                
+            default:
+                throw new IllegalArgumentException(
+                        "Unknown command: " + command + ".");
+        }
+        
+        if (tokenizer.hasMoreTokens()) {
+            throw new IllegalArgumentException(
+                    "Trailing input: " + tokenizer.nextToken() + ".");
+        }
+        
+        parsedBatch.add(opcode, 
+                        index, 
+                        values[0], 
+                        values[1],
+                        values[2],
+                        lineNumber);
     }
     
-    private static void processSetChartBackground(PieChart3D pieChart,
-                                                  Scanner scanner) {
-        pieChart.setChartBackgroundColor(obtainColor(scanner));
+    private void readBinaryCommand(byte opcode, 
+                                   DataInputStream in,
+                                   long commandNumber) throws IOException {
+        DemoCommandBatch batch = parsedBatch;
+        
+        switch (opcode) {
+            case DemoCommandBatch.QUIT:
+            case DemoCommandBatch.SIZE:
+                batch.add(opcode, 0, 0.0, 0.0, 0.0, commandNumber);
+                break;
+                
+            case DemoCommandBatch.ADD:
+                batch.add(opcode,
+                          0,
+                          in.readDouble(),
+                          in.readDouble(),
+                          in.readDouble(),
+                          commandNumber);
+                break;
+                
+            case DemoCommandBatch.ADD_AT:
+            case DemoCommandBatch.SET:
+                batch.add(opcode,
+                          in.readInt(),
+                          in.readDouble(),
+                          in.readDouble(),
+                          in.readDouble(),
+                          commandNumber);
+                break;
+                
+            case DemoCommandBatch.REMOVE:
+            case DemoCommandBatch.PRINT:
+                batch.add(opcode, in.readInt(), 0.0, 0.0, 0.0, commandNumber);
+                break;
+                
+            case DemoCommandBatch.SET_ANGLE:
+            case DemoCommandBatch.ADD_ANGLE:
+                batch.add(opcode, 0, in.readDouble(), 0.0, 0.0, commandNumber);
+                break;
+                
+            case DemoCommandBatch.SET_COLOR:
+            case DemoCommandBatch.SET_BOX_COLOR:
+            case DemoCommandBatch.SET_CHART_BACKGROUND:
+                int rgb = in.readInt();
+                batch.add(opcode,
+                          Color.rgb((rgb >>> 16) & 0xff,
+                                    (rgb >>> 8) & 0xff,
+                                    rgb & 0xff),
+                          commandNumber);
+                break;
+                
+            default:
+                throw new IllegalArgumentException(
+                        "Unknown opcode: " + opcode + ".");
+        }
     }
     
-    private static void processSetColor(PieChart3D pieChart, Scanner scanner) {
-        pieChart.setOriginalIntensityColor(obtainColor(scanner));
+    private static String nextToken(StringTokenizer tokenizer) {
+        if (!tokenizer.hasMoreTokens()) {
+            throw new IllegalArgumentException("Missing argument.");
+        }
+        
+        return tokenizer.nextToken();
     }
     
-    private static void processSetAngle(PieChart3D pieChart, Scanner scanner) {
-        double angle = scanner.nextDouble();
-        pieChart.setAngleOffset(angle);
+    private static int nextInt(StringTokenizer tokenizer) {
+        return Integer.parseInt(nextToken(tokenizer));
     }
     
-    private static void processAddAngle(PieChart3D pieChart, Scanner scanner) {
-        double angleDelta = scanner.nextDouble();
-        pieChart.setAngleOffset(pieChart.getAngleOffset() + angleDelta);
+    private static double nextDouble(StringTokenizer tokenizer) {
+        return Double.parseDouble(nextToken(tokenizer));
     }
     
-    private static PieChart3DEntry obtainEntry(Scanner scanner) {
-        double radiusValue    = scanner.nextDouble();
-        double angleValue     = scanner.nextDouble();
-        double colorIntensity = scanner.nextDouble();
-        
-        return new PieChart3DEntry()
-                          .withSectorRadiusValue(radiusValue)
-                          .withSectorAngleValue(angleValue)
-                          .withSectorColorIntensityValue(colorIntensity);
+    private static void obtainEntry(StringTokenizer tokenizer, 
+                                    double[] values) {
+        for (int i = 0; i < 3; i++) {
+            values[i] = nextDouble(tokenizer);
+            PieChart3DEntry.checkValue(values[i]);
+        }
     }
     
-    private static Color obtainColor(Scanner scanner) {
-        String s = scanner.next();
+    private static void obtainColor(StringTokenizer tokenizer, 
+                                    double[] values) {
+        String s = nextToken(tokenizer);
         
         if (s.charAt(0) == '#') {
             s = s.substring(1);
@@ -367,6 +614,9 @@ final class ControlledDemoTask extends Task<Void> {
             throw new IllegalArgumentException("Invalid color string: " + s);
         }
         
-        return Color.web(s);
+        Color color = Color.web(s);
+        values[0] = color.getRed();
+        values[1] = color.getGreen();
+        values[2] = color.getBlue();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,23 @@
+package com.github.coderodde.javafx;
+
+/**
+ * This interface defines the listeners notified after every
+ * {@link PieChart3D#draw()} that painted something, provided the metrics are
+ * enabled; see {@link PieChart3DMetrics}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+@FunctionalInterface
+public interface PieChart3DDrawListener {
+
+    /**
+     * Called on the JavaFX application thread after {@code chart} was drawn.
+     *
+     * @param chart      the drawn chart.
+     * @param statistics the statistics of the draw; valid only during this
+     *                   call.
+     */
+    void drawn(PieChart3D chart, PieChart3DFrameStatistics statistics);
+}
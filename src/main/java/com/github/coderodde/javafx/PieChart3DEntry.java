@@ -1,7 +1,11 @@
 package com.github.coderodde.javafx;
 
 /**
- * This class implements the pie chart entry.
+ * This class implements the pie chart entry. An entry is either standalone,
+ * holding its own values, or a view of a sector of a {@link PieChart3DData}
+ * as returned by {@link PieChart3DData#get(int)}. A view holds no values: it
+ * reads and writes the sector at its index, so modifying a view modifies the
+ * data.
  * 
  * @author Rodion "rodde" Efremov
  * @version 1.6 (Dec 18, 2023)
@@ -24,31 +28,90 @@ public final class PieChart3DEntry {
      */
     private double sectorColorIntensityValue;
     
+    /**
+     * The data this entry is a view of, or {@code null} if this entry is
+     * standalone.
+     */
+    private final PieChart3DData data;
+    
+    /**
+     * The index of the viewed sector in {@link #data}.
+     */
+    private final int index;
+    
+    public PieChart3DEntry() {
+        this.data  = null;
+        this.index = -1;
+    }
+    
+    /**
+     * Constructs a view of the {@code index}th sector of {@code data}. The
+     * view follows the index, not the sector: after an insertion or a 
+     * removal before it, the view shows the sector now at {@code index}.
+     * 
+     * @param data  the viewed data.
+     * @param index the index of the viewed sector.
+     */
+    PieChart3DEntry(PieChart3DData data, int index) {
+        this.data  = data;
+        this.index = index;
+    }
+    
     public double getSectorRadiusValue() {
-        return sectorRadiusValue;
+        return data == null ? 
+               sectorRadiusValue : 
+               data.getSectorRadiusValue(index);
     }
 
     public double getSectorAngleValue() {
-        return sectorAngleValue;
+        return data == null ? 
+               sectorAngleValue : 
+               data.getSectorAngleValue(index);
     }
 
     public double getSectorColorIntensityValue() {
-        return sectorColorIntensityValue;
+        return data == null ? 
+               sectorColorIntensityValue : 
+               data.getSectorColorIntensityValue(index);
     }
 
     public void setSectorRadiusValue(double sectorRadiusValue) {
         checkValue(sectorRadiusValue);
-        this.sectorRadiusValue = sectorRadiusValue;
+        
+        if (data == null) {
+            this.sectorRadiusValue = sectorRadiusValue;
+        } else {
+            data.set(index,
+                     sectorRadiusValue,
+                     data.getSectorAngleValue(index),
+                     data.getSectorColorIntensityValue(index));
+        }
     }
 
     public void setSectorAngleValue(double sectorAngleValue) {
         checkValue(sectorAngleValue);
-        this.sectorAngleValue = sectorAngleValue;
+        
+        if (data == null) {
+            this.sectorAngleValue = sectorAngleValue;
+        } else {
+            data.set(index,
+                     data.getSectorRadiusValue(index),
+                     sectorAngleValue,
+                     data.getSectorColorIntensityValue(index));
+        }
     }
 
     public void setSectorColorIntensityValue(double sectorColorIntensityValue) {
         checkValue(sectorColorIntensityValue);
-        this.sectorColorIntensityValue = sectorColorIntensityValue;
+        
+        if (data == null) {
+            this.sectorColorIntensityValue = sectorColorIntensityValue;
+        } else {
+            data.set(index,
+                     data.getSectorRadiusValue(index),
+                     data.getSectorAngleValue(index),
+                     sectorColorIntensityValue);
+        }
     }
     
     public PieChart3DEntry withSectorRadiusValue(double sectorRadiusValue) {
@@ -70,15 +133,15 @@ public final class PieChart3DEntry {
     @Override
     public String toString() {
         return "[sectorRadiusValue = " 
-                + sectorRadiusValue
+                + getSectorRadiusValue()
                 + ", sectorAngleValue = " 
-                + sectorAngleValue 
+                + getSectorAngleValue() 
                 + ", sectorColorIntensityValue = "
-                + sectorColorIntensityValue
+                + getSectorColorIntensityValue()
                 + "]";
     }
 
-    private static void checkValue(double value) {
+    static void checkValue(double value) {
         if (Double.isNaN(value)) {
             throw new IllegalArgumentException("The input value is NaN.");
         }
@@ -0,0 +1,361 @@
+package com.github.coderodde.javafx;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.StampedLock;
+import javafx.application.Platform;
+
+/**
+ * This class implements a thread-safe front-end for feeding sector values
+ * from producer threads into a pie chart. Each sector is identified by a key
+ * of type {@code K}, which is mapped to a fixed slot on its first update. The
+ * slot of a key is also the index of its sector in the published data.
+ * <p>
+ * The writes are guarded by striped {@link StampedLock}s, so the producers
+ * updating different stripes never contend. The publisher reads each slot
+ * optimistically and falls back to a read lock only if a producer wrote the
+ * slot's stripe meanwhile. Each published sector is consistent, that is, its
+ * three values come from the same update.
+ * <p>
+ * The data is published into a {@link PieChart3DData} on the JavaFX
+ * application thread, either explicitly via {@link #publishTo(PieChart3DData)}
+ * or automatically after {@link #connect(PieChart3D)}.
+ *
+ * @param <K> the key type.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class PieChart3DFeed<K> {
+
+    /**
+     * The default number of stripes per available processor.
+     */
+    private static final int STRIPES_PER_PROCESSOR = 4;
+
+    private final double[] sectorRadiusValues;
+    private final double[] sectorAngleValues;
+    private final double[] sectorColorIntensityValues;
+
+    /**
+     * Counts the updates of each slot. Zero means that the slot was never
+     * written.
+     */
+    private final long[] slotVersions;
+
+    /**
+     * The slot versions at the time of the last publication.
+     */
+    private final long[] publishedSlotVersions;
+
+    /**
+     * The write locks. The slot {@code s} is guarded by the lock
+     * {@code locks[s & stripeMask]}.
+     */
+    private final StampedLock[] locks;
+
+    private final int stripeMask;
+
+    private final ConcurrentHashMap<K, Integer> slotMap =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The number of the slots handed out so far.
+     */
+    private final AtomicInteger numberOfSlots = new AtomicInteger();
+
+    /**
+     * Indicates whether a publication is queued on the JavaFX application
+     * thread.
+     */
+    private final AtomicBoolean publicationPosted = new AtomicBoolean();
+
+    /**
+     * The chart receiving the automatic publications, or {@code null}.
+     */
+    private volatile PieChart3D connectedChart;
+
+    /**
+     * Constructs a feed with a number of stripes proportional to the number
+     * of available processors.
+     *
+     * @param capacity the maximum number of keys.
+     */
+    public PieChart3DFeed(int capacity) {
+        this(capacity,
+             STRIPES_PER_PROCESSOR
+                     * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a feed.
+     *
+     * @param capacity        the maximum number of keys.
+     * @param numberOfStripes the number of write locks, rounded up to a power
+     *                        of two.
+     */
+    public PieChart3DFeed(int capacity, int numberOfStripes) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("The capacity is negative.");
+        }
+
+        if (numberOfStripes <= 0) {
+            throw new IllegalArgumentException(
+                    "The number of stripes is non-positive.");
+        }
+
+        this.sectorRadiusValues         = new double[capacity];
+        this.sectorAngleValues          = new double[capacity];
+        this.sectorColorIntensityValues = new double[capacity];
+        this.slotVersions               = new long[capacity];
+        this.publishedSlotVersions      = new long[capacity];
+
+        int stripes = Integer.highestOneBit(numberOfStripes);
+
+        if (stripes < numberOfStripes) {
+            stripes <<= 1;
+        }
+
+        this.locks = new StampedLock[stripes];
+        this.stripeMask = stripes - 1;
+
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new StampedLock();
+        }
+    }
+
+    public int getCapacity() {
+        return slotVersions.length;
+    }
+
+    public int getNumberOfStripes() {
+        return locks.length;
+    }
+
+    /**
+     * Returns the number of keys mapped to slots so far.
+     *
+     * @return the number of used slots.
+     */
+    public int size() {
+        return Math.min(numberOfSlots.get(), slotVersions.length);
+    }
+
+    /**
+     * Returns the slot of {@code key}.
+     *
+     * @param key the key to look up.
+     * @return the slot of the key, or -1 if the key was never updated.
+     */
+    public int getSlot(K key) {
+        Integer slot = slotMap.get(key);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * Updates the values of the sector of {@code key}. May be called from any
+     * thread.
+     *
+     * @param key                        the key of the sector.
+     * @param sectorRadiusValue          the radius value.
+     * @param sectorAngleValue           the angle value.
+     * @param sectorColorIntensityValue  the color intensity value.
+     * @return the slot of the key.
+     * @throws IllegalStateException if {@code key} is new and all the slots
+     *                               are taken.
+     */
+    public int update(K key,
+                      double sectorRadiusValue,
+                      double sectorAngleValue,
+                      double sectorColorIntensityValue) {
+        Objects.requireNonNull(key, "The key is null.");
+        PieChart3DEntry.checkValue(sectorRadiusValue);
+        PieChart3DEntry.checkValue(sectorAngleValue);
+        PieChart3DEntry.checkValue(sectorColorIntensityValue);
+
+        int slot = slotMap.computeIfAbsent(key, k -> allocateSlot());
+        StampedLock lock = locks[slot & stripeMask];
+        long stamp = lock.writeLock();
+
+        try {
+            sectorRadiusValues[slot]         = sectorRadiusValue;
+            sectorAngleValues[slot]          = sectorAngleValue;
+            sectorColorIntensityValues[slot] = sectorColorIntensityValue;
+            slotVersions[slot]++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        if (connectedChart != null) {
+            postPublication();
+        }
+
+        return slot;
+    }
+
+    /**
+     * Returns a consistent copy of the sector of {@code key}.
+     *
+     * @param key the key of the sector.
+     * @return the sector values, or {@code null} if the key was never
+     *         updated.
+     */
+    public PieChart3DEntry get(K key) {
+        int slot = getSlot(key);
+
+        if (slot == -1) {
+            return null;
+        }
+
+        double[] values = new double[3];
+        readSlot(slot, values);
+
+        return new PieChart3DEntry()
+                .withSectorRadiusValue(values[0])
+                .withSectorAngleValue(values[1])
+                .withSectorColorIntensityValue(values[2]);
+    }
+
+    /**
+     * Copies the sectors updated since the previous publication into
+     * {@code data}. The sector of the slot {@code s} goes to the index
+     * {@code s}; the slots beyond the size of {@code data} are appended. A
+     * feed should always publish into the same data, which must not be
+     * modified otherwise.
+     * <p>
+     * Must be called by one thread at a time, normally the JavaFX application
+     * thread. Never blocks the producers: the slots being written
+     * concurrently are retried under the stripe's read lock.
+     *
+     * @param data the target data.
+     * @return the number of sectors copied.
+     */
+    public int publishTo(PieChart3DData data) {
+        Objects.requireNonNull(data, "The data is null.");
+
+        int size = size();
+        int dataSize = data.size();
+
+        if (dataSize > size) {
+            throw new IllegalStateException(
+                    "The data has more sectors than the feed: "
+                            + dataSize
+                            + " > "
+                            + size
+                            + ".");
+        }
+
+        data.ensureCapacity(size);
+        double[] values = new double[3];
+        int[] numberOfCopied = new int[1];
+
+        // A publication is a single modification of the data:
+        data.batch(target -> {
+            for (int slot = 0; slot < size; slot++) {
+                long version = readSlot(slot, values);
+
+                if (slot < dataSize) {
+                    if (version == publishedSlotVersions[slot]) {
+                        continue;
+                    }
+
+                    target.set(slot, values[0], values[1], values[2]);
+                } else {
+                    target.add(values[0], values[1], values[2]);
+                }
+
+                publishedSlotVersions[slot] = version;
+                numberOfCopied[0]++;
+            }
+        });
+
+        return numberOfCopied[0];
+    }
+
+    /**
+     * Publishes the updates into the data of {@code chart} automatically.
+     * After each update, a publication followed by
+     * {@link PieChart3D#requestDraw()} is posted to the JavaFX application
+     * thread unless one is already queued, so the updates arriving in bursts
+     * are coalesced.
+     *
+     * @param chart the chart to feed, or {@code null} for disconnecting.
+     */
+    public void connect(PieChart3D chart) {
+        connectedChart = chart;
+
+        if (chart != null) {
+            postPublication();
+        }
+    }
+
+    private void postPublication() {
+        // Read before writing, so that the producers share the cache line of
+        // the flag while a publication is queued:
+        if (publicationPosted.get() || publicationPosted.getAndSet(true)) {
+            return;
+        }
+
+        Platform.runLater(() -> {
+            // Clear first so that the updates racing with this publication
+            // post a new one:
+            publicationPosted.set(false);
+            PieChart3D chart = connectedChart;
+
+            if (chart != null && publishTo(chart.getData()) > 0) {
+                chart.requestDraw();
+            }
+        });
+    }
+
+    /**
+     * Reads the values of {@code slot} into {@code values}.
+     *
+     * @param slot   the slot to read.
+     * @param values the target array of the radius, the angle and the color
+     *               intensity value.
+     * @return the version of the read values.
+     */
+    private long readSlot(int slot, double[] values) {
+        StampedLock lock = locks[slot & stripeMask];
+        long stamp = lock.tryOptimisticRead();
+        long version = readSlotUnguarded(slot, values);
+
+        if (lock.validate(stamp)) {
+            return version;
+        }
+
+        stamp = lock.readLock();
+
+        try {
+            return readSlotUnguarded(slot, values);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private long readSlotUnguarded(int slot, double[] values) {
+        values[0] = sectorRadiusValues[slot];
+        values[1] = sectorAngleValues[slot];
+        values[2] = sectorColorIntensityValues[slot];
+        return slotVersions[slot];
+    }
+
+    private int allocateSlot() {
+        int slot = numberOfSlots.getAndIncrement();
+
+        if (slot >= slotVersions.length) {
+            numberOfSlots.decrementAndGet();
+
+            throw new IllegalStateException(
+                    "The feed is full: capacity "
+                            + slotVersions.length
+                            + ".");
+        }
+
+        return slot;
+    }
+}
@@ -0,0 +1,83 @@
+package com.github.coderodde.javafx;
+
+/**
+ * This class holds the statistics of a single {@link PieChart3D#draw()}. An
+ * instance is reused by its chart for every draw, so it is only valid during
+ * the {@link PieChart3DDrawListener} callback it is passed to.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class PieChart3DFrameStatistics {
+
+    boolean partial;
+    long layoutNanos;
+    long boundingBoxNanos;
+    long backgroundNanos;
+    long sectorNanos;
+    long totalNanos;
+    long fillArcCalls;
+    long allocatedColors;
+
+    PieChart3DFrameStatistics() {}
+
+    /**
+     * Returns {@code true} if only the changed angular span was repainted.
+     *
+     * @return {@code true} for a partial repaint.
+     */
+    public boolean isPartial() {
+        return partial;
+    }
+
+    /**
+     * Returns the time spent on recomputing the sector geometry and colors.
+     *
+     * @return the layout time in nanoseconds.
+     */
+    public long getLayoutNanos() {
+        return layoutNanos;
+    }
+
+    public long getBoundingBoxNanos() {
+        return boundingBoxNanos;
+    }
+
+    public long getBackgroundNanos() {
+        return backgroundNanos;
+    }
+
+    public long getSectorNanos() {
+        return sectorNanos;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getFillArcCalls() {
+        return fillArcCalls;
+    }
+
+    /**
+     * Returns the number of the sector colors allocated, which is zero if 
+     * the chart uses a color palette.
+     *
+     * @return the number of the allocated colors.
+     */
+    public long getAllocatedColors() {
+        return allocatedColors;
+    }
+
+    void reset() {
+        partial          = false;
+        layoutNanos      = 0L;
+        boundingBoxNanos = 0L;
+        backgroundNanos  = 0L;
+        sectorNanos      = 0L;
+        totalNanos       = 0L;
+        fillArcCalls     = 0L;
+        allocatedColors  = 0L;
+    }
+}
@@ -0,0 +1,482 @@
+package com.github.coderodde.javafx;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.transform.Transform;
+import javafx.stage.Window;
+
+/**
+ * This class renders many small pie charts into a single canvas. The charts
+ * are laid out row by row in square cells of equal size. Each cell renders
+ * its own {@link PieChart3DData} with its own angle offset; the colors, the
+ * palette and the level of detail settings are shared by all the cells.
+ * <p>
+ * A {@link #draw()} repaints only the cells whose data or angle offset
+ * changed since the previous draw. The background of a cell is rendered once
+ * into a cached image shared by all the cells, and each cell keeps its own
+ * {@link PieChart3DLayout}, so an unchanged chart costs two comparisons per
+ * draw. With the palette enabled, the cells also share the color instances,
+ * so that no colors are allocated per draw.
+ * <p>
+ * All the charts are drawn by a single render loop: {@link #requestDraw()}
+ * may be called from any thread, and all the requests made between two
+ * pulses are coalesced into a single {@code draw()} of the whole grid. The
+ * data of the cells must be modified on the JavaFX application thread, for
+ * example by {@link PieChart3DFeed#publishTo(PieChart3DData)}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class PieChart3DGrid extends Canvas {
+
+    /**
+     * The number of cells in a row.
+     */
+    private final int numberOfColumns;
+
+    /**
+     * The side length of a cell in pixels.
+     */
+    private final double cellSize;
+
+    private final List<Cell> cells = new ArrayList<>();
+
+    private final PieChart3DColors colors = new PieChart3DColors();
+
+    // The level of detail settings:
+    private double minimumSectorArcLength = 0.0;
+    private SectorReduction sectorRadiusReduction = SectorReduction.MAXIMUM;
+    private SectorReduction sectorColorIntensityReduction =
+            SectorReduction.MAXIMUM;
+
+    /**
+     * Counts the modifications of the settings shared by all the cells and of
+     * the arrangement of the cells.
+     */
+    private long generation;
+
+    /**
+     * The generation of the last draw.
+     */
+    private long drawnGeneration = -1L;
+
+    // The cached background of a cell:
+    private WritableImage backgroundImage;
+    private long backgroundImageGeneration = -1L;
+    private double backgroundImageScale;
+
+    /**
+     * Schedules the draws requested by {@link #requestDraw()}.
+     */
+    private final PieChart3DRenderLoop renderLoop =
+            new PieChart3DRenderLoop(this::draw);
+
+    /**
+     * Constructs an empty grid.
+     *
+     * @param numberOfColumns the number of cells in a row.
+     * @param cellSize        the side length of a cell in pixels.
+     */
+    public PieChart3DGrid(int numberOfColumns, double cellSize) {
+        if (numberOfColumns <= 0) {
+            throw new IllegalArgumentException(
+                    "The number of columns is non-positive.");
+        }
+
+        if (Double.isNaN(cellSize)
+                || Double.isInfinite(cellSize)
+                || cellSize <= 0.0) {
+            throw new IllegalArgumentException(
+                    "The cell size is invalid: " + cellSize + ".");
+        }
+
+        this.numberOfColumns = numberOfColumns;
+        this.cellSize        = cellSize;
+
+        super.setWidth(numberOfColumns * cellSize);
+        super.setHeight(0.0);
+    }
+
+    public int getNumberOfColumns() {
+        return numberOfColumns;
+    }
+
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    public int getNumberOfCells() {
+        return cells.size();
+    }
+
+    /**
+     * Appends a cell charting a new, empty data.
+     *
+     * @return the index of the new cell.
+     */
+    public int addChart() {
+        return addChart(new PieChart3DData());
+    }
+
+    /**
+     * Appends a cell charting {@code data}. The grid grows by a row if
+     * needed.
+     *
+     * @param data the data to chart.
+     * @return the index of the new cell.
+     */
+    public int addChart(PieChart3DData data) {
+        Objects.requireNonNull(data, "The data is null.");
+
+        Cell cell = new Cell(data);
+        cell.layout.setLevelOfDetail(minimumSectorArcLength,
+                                     sectorRadiusReduction,
+                                     sectorColorIntensityReduction);
+        cells.add(cell);
+        updateHeight();
+        return cells.size() - 1;
+    }
+
+    /**
+     * Removes the {@code index}th cell. The following cells move one cell
+     * back.
+     *
+     * @param index the index of the cell to remove.
+     */
+    public void removeChart(int index) {
+        Objects.checkIndex(index, cells.size());
+        cells.remove(index);
+        updateHeight();
+        generation++;
+    }
+
+    public PieChart3DData getData(int index) {
+        Objects.checkIndex(index, cells.size());
+        return cells.get(index).data;
+    }
+
+    public double getAngleOffset(int index) {
+        Objects.checkIndex(index, cells.size());
+        return cells.get(index).angleOffset;
+    }
+
+    public void setAngleOffset(int index, double angleOffset) {
+        Objects.checkIndex(index, cells.size());
+        cells.get(index).angleOffset =
+                PieChart3DLayout.normalizeAngleOffset(angleOffset);
+    }
+
+    public Color getBoxBackgroundColor() {
+        return colors.getBoxColor();
+    }
+
+    public Color getChartBackgroundColor() {
+        return colors.getChartBackgroundColor();
+    }
+
+    public Color getOriginalIntensityColor() {
+        return colors.getOriginalIntensityColor();
+    }
+
+    public void setBoxBackgroundColor(Color boxColor) {
+        colors.setBoxColor(boxColor);
+        generation++;
+    }
+
+    public void setChartBackgroundColor(Color chartBackgroundColor) {
+        colors.setChartBackgroundColor(chartBackgroundColor);
+        generation++;
+    }
+
+    public void setOriginalIntensityColor(Color originalIntensityColor) {
+        colors.setOriginalIntensityColor(originalIntensityColor);
+        generation++;
+    }
+
+    public int getColorPaletteSize() {
+        return colors.getColorPaletteSize();
+    }
+
+    /**
+     * Enables the quantized intensity palette shared by all the cells, or
+     * disables it if {@code numberOfLevels} is zero. See
+     * {@link PieChart3D#setColorPaletteSize(int)}. Recommended for large
+     * grids.
+     *
+     * @param numberOfLevels the number of palette levels, or zero.
+     */
+    public void setColorPaletteSize(int numberOfLevels) {
+        colors.setColorPaletteSize(numberOfLevels);
+        generation++;
+    }
+
+    public double getMinimumSectorArcLength() {
+        return minimumSectorArcLength;
+    }
+
+    public SectorReduction getSectorRadiusReduction() {
+        return sectorRadiusReduction;
+    }
+
+    public SectorReduction getSectorColorIntensityReduction() {
+        return sectorColorIntensityReduction;
+    }
+
+    /**
+     * Sets the level of detail of all the cells. See
+     * {@link PieChart3D#setMinimumSectorArcLength(double)}.
+     *
+     * @param minimumSectorArcLength the threshold arc length in pixels.
+     */
+    public void setMinimumSectorArcLength(double minimumSectorArcLength) {
+        PieChart3DLayout.checkMinimumSectorArcLength(minimumSectorArcLength);
+        this.minimumSectorArcLength = minimumSectorArcLength;
+        updateLevelOfDetail();
+    }
+
+    public void setSectorRadiusReduction(
+            SectorReduction sectorRadiusReduction) {
+        this.sectorRadiusReduction =
+                Objects.requireNonNull(
+                        sectorRadiusReduction,
+                        "The sector radius reduction is null.");
+        updateLevelOfDetail();
+    }
+
+    public void setSectorColorIntensityReduction(
+            SectorReduction sectorColorIntensityReduction) {
+        this.sectorColorIntensityReduction =
+                Objects.requireNonNull(
+                        sectorColorIntensityReduction,
+                        "The sector color intensity reduction is null.");
+        updateLevelOfDetail();
+    }
+
+    /**
+     * Returns the index of the cell under the point {@code (x, y)} given in
+     * the local coordinates of this grid.
+     *
+     * @param x the {@code x}-coordinate of the point.
+     * @param y the {@code y}-coordinate of the point.
+     * @return the index of the cell, or -1 if there is none.
+     */
+    public int cellAt(double x, double y) {
+        if (x < 0.0 || y < 0.0) {
+            return -1;
+        }
+
+        int column = (int) (x / cellSize);
+        int row    = (int) (y / cellSize);
+
+        if (column >= numberOfColumns) {
+            return -1;
+        }
+
+        long index = (long) row * numberOfColumns + column;
+        return index < cells.size() ? (int) index : -1;
+    }
+
+    /**
+     * Returns the index of the sector of the {@code cellIndex}th chart under
+     * the point {@code (x, y)} given in the local coordinates of this grid.
+     * See {@link PieChart3D#sectorAt(double, double)}.
+     *
+     * @param cellIndex the index of the cell.
+     * @param x         the {@code x}-coordinate of the point.
+     * @param y         the {@code y}-coordinate of the point.
+     * @return the index of the sector, or -1 if there is none.
+     */
+    public int sectorAt(int cellIndex, double x, double y) {
+        Objects.checkIndex(cellIndex, cells.size());
+        Cell cell = cells.get(cellIndex);
+
+        return PieChart3DLayout.findSectorAt(cell.data,
+                                             x - getCellX(cellIndex),
+                                             y - getCellY(cellIndex),
+                                             cellSize / 2.0,
+                                             cell.angleOffset);
+    }
+
+    /**
+     * Repaints the cells whose data or angle offset changed since the
+     * previous draw, or the whole canvas if a shared setting or the
+     * arrangement of the cells changed. Must be called on the JavaFX
+     * application thread.
+     */
+    public void draw() {
+        GraphicsContext gc = getGraphicsContext2D();
+        boolean backgroundChanged = prepareBackgroundImage();
+        double center = cellSize / 2.0;
+
+        if (drawnGeneration != generation) {
+            // Clear the cells vacated by removeChart(int) as well:
+            gc.clearRect(0.0, 0.0, getWidth(), getHeight());
+            drawnGeneration = generation;
+        }
+
+        for (int i = 0, size = cells.size(); i < size; i++) {
+            Cell cell = cells.get(i);
+            PieChart3DData data = cell.data;
+            long modificationCount = data.getModificationCount();
+
+            if (!backgroundChanged
+                    && cell.drawnGeneration == generation
+                    && cell.drawnModificationCount == modificationCount
+                    && cell.drawnAngleOffset == cell.angleOffset) {
+                continue;
+            }
+
+            double x = getCellX(i);
+            double y = getCellY(i);
+
+            gc.drawImage(backgroundImage, x, y, cellSize, cellSize);
+
+            cell.layout.update(data,
+                               cellSize,
+                               colors.getOriginalIntensityColor(),
+                               colors.getPalette());
+
+            if (!data.isEmpty()) {
+                gc.save();
+                gc.translate(x, y);
+                cell.layout.draw(gc,
+                                 center,
+                                 cell.angleOffset,
+                                 0,
+                                 cell.layout.getNumberOfWedges());
+                gc.restore();
+            }
+
+            data.resetChangedRange();
+            cell.drawnGeneration        = generation;
+            cell.drawnModificationCount = modificationCount;
+            cell.drawnAngleOffset       = cell.angleOffset;
+        }
+    }
+
+    /**
+     * Requests a {@link #draw()} on the JavaFX application thread. May be
+     * called from any thread; the requests made before the next frame are
+     * coalesced into a single draw of the whole grid.
+     */
+    public void requestDraw() {
+        renderLoop.requestDraw();
+    }
+
+    public double getMaximumFrameRate() {
+        return renderLoop.getMaximumFrameRate();
+    }
+
+    /**
+     * Caps the rate of the draws scheduled by {@link #requestDraw()}. See
+     * {@link PieChart3D#setMaximumFrameRate(double)}.
+     *
+     * @param maximumFrameRate the maximum number of draws per second, or
+     *                         zero for drawing on every pulse.
+     */
+    public void setMaximumFrameRate(double maximumFrameRate) {
+        renderLoop.setMaximumFrameRate(maximumFrameRate);
+    }
+
+    /**
+     * Renders the cached cell background unless it is up to date.
+     *
+     * @return {@code true} if the background was rendered anew.
+     */
+    private boolean prepareBackgroundImage() {
+        double scale = getOutputScale();
+
+        if (backgroundImageGeneration == generation
+                && backgroundImageScale == scale) {
+            return false;
+        }
+
+        Canvas layerCanvas = new Canvas(cellSize, cellSize);
+        GraphicsContext gc = layerCanvas.getGraphicsContext2D();
+        gc.setFill(colors.getBoxColor());
+        gc.fillRect(0.0, 0.0, cellSize, cellSize);
+        gc.setFill(colors.getChartBackgroundColor());
+        gc.fillOval(0.0, 0.0, cellSize, cellSize);
+
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        parameters.setTransform(Transform.scale(scale, scale));
+
+        backgroundImage           = layerCanvas.snapshot(parameters, null);
+        backgroundImageGeneration = generation;
+        backgroundImageScale      = scale;
+        return true;
+    }
+
+    /**
+     * Returns the render scale of the window showing this grid.
+     *
+     * @return the output scale, or 1 if this grid is not shown.
+     */
+    private double getOutputScale() {
+        Scene scene = getScene();
+        Window window = scene == null ? null : scene.getWindow();
+
+        if (window == null) {
+            return 1.0;
+        }
+
+        return Math.max(window.getOutputScaleX(), window.getOutputScaleY());
+    }
+
+    private double getCellX(int index) {
+        return (index % numberOfColumns) * cellSize;
+    }
+
+    private double getCellY(int index) {
+        return (index / numberOfColumns) * cellSize;
+    }
+
+    private void updateHeight() {
+        int numberOfRows =
+                (cells.size() + numberOfColumns - 1) / numberOfColumns;
+        double height = numberOfRows * cellSize;
+
+        if (height != getHeight()) {
+            setHeight(height);
+            generation++;
+        }
+    }
+
+    private void updateLevelOfDetail() {
+        for (Cell cell : cells) {
+            cell.layout.setLevelOfDetail(minimumSectorArcLength,
+                                         sectorRadiusReduction,
+                                         sectorColorIntensityReduction);
+        }
+
+        generation++;
+    }
+
+    /**
+     * Holds a chart of the grid along with its state at the time of its last
+     * draw.
+     */
+    private static final class Cell {
+
+        final PieChart3DData data;
+        final PieChart3DLayout layout = new PieChart3DLayout();
+
+        double angleOffset;
+        double drawnAngleOffset;
+        long drawnGeneration = -1L;
+        long drawnModificationCount = -1L;
+
+        Cell(PieChart3DData data) {
+            this.data = data;
+        }
+    }
+}
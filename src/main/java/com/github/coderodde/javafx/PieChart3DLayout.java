@@ -0,0 +1,601 @@
+package com.github.coderodde.javafx;
+
+import java.util.Arrays;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.ArcType;
+
+/**
+ * This class caches the geometry and the fill colors of the sectors of a pie
+ * chart. The layout is expressed relative to the zero angle offset, so that a
+ * rotation of the chart does not invalidate it. The layout is recomputed only
+ * when the data, the dimension or the original intensity color changes, and
+ * if only a range of entries changed without affecting the angle sum and the
+ * maxima, only that range is recomputed.
+ * <p>
+ * The layout is drawn as a sequence of wedges. Normally, each wedge is a 
+ * single sector. With the level of detail enabled, the runs of adjacent 
+ * sectors thinner than the threshold arc length are merged into aggregate 
+ * wedges, so that the number of the drawn wedges is bounded by the 
+ * circumference of the chart rather than by the number of sectors. The merged
+ * wedges are cached until the sector layout, the dimension or the level of 
+ * detail settings change.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+final class PieChart3DLayout {
+
+    // The instrumentation counters; see PieChart3DMetrics:
+    private long fillArcCalls;
+    private long allocatedColors;
+
+    /**
+     * The {@code i}th element holds the sum of the angle values of the first
+     * {@code i} sectors.
+     */
+    private double[] cumulativeAngleValues = new double[1];
+
+    /**
+     * The {@code i}th element holds the clockwise angle in degrees from the
+     * beginning of the chart to the beginning of the {@code i}th sector. The
+     * element at index {@code size} is the end of the last sector.
+     */
+    private double[] startAngles = new double[1];
+
+    /**
+     * Holds the angles in degrees swept by the sectors.
+     */
+    private double[] sweepAngles = new double[0];
+
+    /**
+     * Holds the radii of the sectors in pixels.
+     */
+    private double[] radii = new double[0];
+
+    /**
+     * Holds the relative color intensities of the sectors.
+     */
+    private double[] intensities = new double[0];
+
+    /**
+     * Holds the fill colors of the sectors.
+     */
+    private Color[] colors = new Color[0];
+
+    // The wedges to draw. Unless the level of detail is enabled, these refer
+    // to the sector arrays above.
+    private double[] wedgeStartAngles = startAngles;
+    private double[] wedgeSweepAngles = sweepAngles;
+    private double[] wedgeRadii       = radii;
+    private Color[]  wedgeColors      = colors;
+    private int numberOfWedges;
+    private boolean wedgesValid;
+
+    // The level of detail settings:
+    private double minimumArcLength;
+    private SectorReduction radiusReduction = SectorReduction.MAXIMUM;
+    private SectorReduction colorIntensityReduction = 
+            SectorReduction.MAXIMUM;
+
+    /**
+     * The number of sectors in this layout.
+     */
+    private int size;
+
+    // The state this layout was computed for:
+    private long modificationCount = -1L;
+    private double dimension = Double.NaN;
+    private Color originalIntensityColor;
+    private PieChart3DPalette palette;
+    private double sumOfRelativeAngles;
+    private double maximumRadiusValue;
+    private double maximumColorIntensityValue;
+
+    /**
+     * Brings this layout up to date with the input state. This method must be
+     * called before the changed range of {@code data} is reset.
+     *
+     * @param data                   the chart data.
+     * @param dimension              the dimension of the chart.
+     * @param originalIntensityColor the color of the full intensity.
+     * @param palette                the quantized palette, or {@code null}
+     *                               if the colors are not quantized.
+     */
+    void update(PieChart3DData data,
+                double dimension,
+                Color originalIntensityColor,
+                PieChart3DPalette palette) {
+        long dataModificationCount = data.getModificationCount();
+        boolean sameColors = 
+                originalIntensityColor.equals(this.originalIntensityColor)
+                && palette == this.palette;
+
+        if (dataModificationCount == modificationCount
+                && dimension == this.dimension
+                && sameColors) {
+            return;
+        }
+
+        int nextSize = data.size();
+        double nextSumOfRelativeAngles = data.getSectorAngleValueSum();
+        double nextMaximumRadiusValue = data.getMaximumSectorRadiusValue();
+        double nextMaximumColorIntensityValue =
+                data.getMaximumSectorColorIntensityValue();
+
+        int fromIndex = 0;
+        int toIndex   = nextSize;
+
+        if (dimension == this.dimension
+                && sameColors
+                && data.isChangedRangeValidSince(modificationCount)
+                && nextSumOfRelativeAngles == sumOfRelativeAngles
+                && nextMaximumRadiusValue == maximumRadiusValue
+                && nextMaximumColorIntensityValue
+                    == maximumColorIntensityValue) {
+            fromIndex = Math.min(data.getChangedFromIndex(), nextSize);
+            toIndex   = Math.min(data.getChangedToIndex(), nextSize);
+
+            if (data.getChangedToIndex() == Integer.MAX_VALUE) {
+                toIndex = nextSize;
+            }
+        }
+
+        ensureCapacity(nextSize);
+
+        this.size                       = nextSize;
+        this.modificationCount          = dataModificationCount;
+        this.dimension                  = dimension;
+        this.originalIntensityColor     = originalIntensityColor;
+        this.palette                    = palette;
+        this.sumOfRelativeAngles        = nextSumOfRelativeAngles;
+        this.maximumRadiusValue         = nextMaximumRadiusValue;
+        this.maximumColorIntensityValue = nextMaximumColorIntensityValue;
+
+        compute(data, fromIndex, toIndex);
+        wedgesValid = false;
+    }
+
+    /**
+     * Sets the level of detail. The runs of adjacent sectors whose arcs on 
+     * the rim of the chart are shorter than {@code minimumArcLength} pixels
+     * are merged into wedges. Zero disables the merging.
+     * 
+     * @param minimumArcLength        the threshold arc length in pixels.
+     * @param radiusReduction         the reduction of the radii.
+     * @param colorIntensityReduction the reduction of the intensities.
+     */
+    void setLevelOfDetail(double minimumArcLength,
+                          SectorReduction radiusReduction,
+                          SectorReduction colorIntensityReduction) {
+        this.minimumArcLength        = minimumArcLength;
+        this.radiusReduction         = radiusReduction;
+        this.colorIntensityReduction = colorIntensityReduction;
+        wedgesValid = false;
+    }
+
+    int getNumberOfWedges() {
+        validateWedges();
+        return numberOfWedges;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the chart angle at which the {@code index}th sector begins. The
+     * index may equal {@link #size()}, in which case the end of the last
+     * sector is returned.
+     *
+     * @param index the index of the sector.
+     * @return the start angle of the sector.
+     */
+    double getStartAngle(int index) {
+        return startAngles[index];
+    }
+
+    /**
+     * Returns the chart angle at which the {@code index}th wedge begins. The
+     * index may equal {@link #getNumberOfWedges()}, in which case the end of 
+     * the last wedge is returned.
+     *
+     * @param index the index of the wedge.
+     * @return the start angle of the wedge.
+     */
+    double getWedgeStartAngle(int index) {
+        validateWedges();
+        return wedgeStartAngles[index];
+    }
+
+    double getWedgeSweepAngle(int index) {
+        validateWedges();
+        return wedgeSweepAngles[index];
+    }
+
+    /**
+     * Returns the radius of the {@code index}th wedge in pixels.
+     *
+     * @param index the index of the wedge.
+     * @return the radius of the wedge.
+     */
+    double getWedgeRadius(int index) {
+        validateWedges();
+        return wedgeRadii[index];
+    }
+
+    Color getWedgeColor(int index) {
+        validateWedges();
+        return wedgeColors[index];
+    }
+
+    /**
+     * Returns the index of the wedge containing the chart angle
+     * {@code angle}.
+     *
+     * @param angle the chart angle within {@code [0, 360]}.
+     * @return the index of the wedge.
+     */
+    int findWedgeIndex(double angle) {
+        validateWedges();
+        
+        int low  = 0;
+        int high = numberOfWedges - 1;
+
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+
+            if (wedgeStartAngles[middle] <= angle) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Draws the wedges {@code fromIndex} (inclusive) through {@code toIndex}
+     * (exclusive). Does not allocate. Consecutive wedges sharing the same 
+     * color instance, which is common with a quantized palette, do not reset
+     * the fill.
+     *
+     * @param gc          the graphics context.
+     * @param center      the coordinate of the center of the chart.
+     * @param angleOffset the angle offset of the chart.
+     * @param fromIndex   the index of the first wedge to draw.
+     * @param toIndex     one past the index of the last wedge to draw.
+     */
+    void draw(GraphicsContext gc,
+              double center,
+              double angleOffset,
+              int fromIndex,
+              int toIndex) {
+        validateWedges();
+        
+        double startAngle = 90.0 - angleOffset;
+        Color fill = null;
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            double radius = wedgeRadii[i];
+            
+            if (wedgeColors[i] != fill) {
+                fill = wedgeColors[i];
+                gc.setFill(fill);
+            }
+            
+            gc.fillArc(center - radius,
+                       center - radius,
+                       2.0 * radius,
+                       2.0 * radius,
+                       startAngle - wedgeStartAngles[i + 1],
+                       wedgeSweepAngles[i],
+                       ArcType.ROUND);
+        }
+        
+        if (PieChart3DMetrics.ENABLED) {
+            fillArcCalls += Math.max(0, toIndex - fromIndex);
+        }
+    }
+    
+    /**
+     * Adds the {@code fillArc} calls and the color allocations counted since
+     * the previous call to {@code statistics}.
+     * 
+     * @param statistics the statistics of the current frame.
+     */
+    void drainCounters(PieChart3DFrameStatistics statistics) {
+        statistics.fillArcCalls    += fillArcCalls;
+        statistics.allocatedColors += allocatedColors;
+        fillArcCalls    = 0L;
+        allocatedColors = 0L;
+    }
+
+    /**
+     * Returns the index of the sector of {@code data} under the point 
+     * {@code (x, y)}. Respects the angle offset and the radius of each 
+     * sector. Runs in logarithmic time.
+     * 
+     * @param data        the chart data.
+     * @param x           the {@code x}-coordinate of the point.
+     * @param y           the {@code y}-coordinate of the point.
+     * @param center      the coordinate of the center of the chart.
+     * @param angleOffset the angle offset of the chart.
+     * @return the index of the sector under the point, or -1 if there is 
+     *         none.
+     */
+    static int findSectorAt(PieChart3DData data,
+                            double x,
+                            double y,
+                            double center,
+                            double angleOffset) {
+        double sumOfRelativeAngles = data.getSectorAngleValueSum();
+        double maximumRadiusValue = data.getMaximumSectorRadiusValue();
+        
+        if (sumOfRelativeAngles == 0.0 || maximumRadiusValue == 0.0) {
+            return -1;
+        }
+        
+        double angle = getChartAngle(x, y, center, angleOffset);
+        int index = data.findSectorIndex(
+                Math.min(sumOfRelativeAngles * angle / 360.0,
+                         sumOfRelativeAngles));
+        
+        if (index == -1) {
+            return -1;
+        }
+        
+        double radius = center * data.getSectorRadiusValue(index)
+                               / maximumRadiusValue;
+        
+        return Math.hypot(x - center, y - center) <= radius ? index : -1;
+    }
+
+    /**
+     * Returns the clockwise angle in degrees from the beginning of the chart
+     * to the point {@code (x, y)}. The result is within {@code [0, 360)}.
+     * 
+     * @param x           the {@code x}-coordinate of the point.
+     * @param y           the {@code y}-coordinate of the point.
+     * @param center      the coordinate of the center of the chart.
+     * @param angleOffset the angle offset of the chart.
+     * @return the chart angle of the point.
+     */
+    static double getChartAngle(double x, 
+                                double y, 
+                                double center, 
+                                double angleOffset) {
+        double angle = 90.0 - angleOffset 
+                            - Math.toDegrees(Math.atan2(center - y, 
+                                                        x - center));
+        angle %= 360.0;
+        return angle < 0.0 ? angle + 360.0 : angle;
+    }
+
+    static Color obtainColor(Color originalIntensityColor, double intensity) {
+        double r = originalIntensityColor.getRed();
+        double g = originalIntensityColor.getGreen();
+        double b = originalIntensityColor.getBlue();
+
+        r += (1.0 - r) * (1.0 - intensity);
+        g += (1.0 - g) * (1.0 - intensity);
+        b += (1.0 - b) * (1.0 - intensity);
+
+        return new Color(r, g, b, 1.0);
+    }
+
+    static void checkDimension(double dimension) {
+        checkIsNotNaN(dimension, "The dimension is NaN.");
+        checkIsNotInfinite(dimension,
+                           "The dimension is infinite in absolute value.");
+
+        if (dimension <= 0.0) {
+            throw new IllegalArgumentException(
+                    "The dimension is non-positive.");
+        }
+    }
+
+    /**
+     * Validates {@code angleOffset} and maps it into {@code [0, 360)}.
+     *
+     * @param angleOffset the angle offset in degrees.
+     * @return the normalized angle offset.
+     */
+    static double normalizeAngleOffset(double angleOffset) {
+        checkIsNotNaN(angleOffset, "The angle offset is NaN.");
+        checkIsNotInfinite(angleOffset,
+                           "The angle offset is infinite in absolute value.");
+        angleOffset %= 360.0;
+        return angleOffset < 0.0 ? angleOffset + 360.0 : angleOffset;
+    }
+
+    static void checkMinimumSectorArcLength(double minimumSectorArcLength) {
+        checkIsNotNaN(minimumSectorArcLength,
+                      "The minimum sector arc length is NaN.");
+        checkIsNotInfinite(minimumSectorArcLength,
+                           "The minimum sector arc length is infinite.");
+
+        if (minimumSectorArcLength < 0.0) {
+            throw new IllegalArgumentException(
+                    "The minimum sector arc length is negative.");
+        }
+    }
+
+    private static void checkIsNotNaN(double value, String exceptionMessage) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException(exceptionMessage);
+        }
+    }
+
+    private static void checkIsNotInfinite(double value,
+                                           String exceptionMessage) {
+        if (Double.isInfinite(value)) {
+            throw new IllegalArgumentException(exceptionMessage);
+        }
+    }
+
+    private void compute(PieChart3DData data, int fromIndex, int toIndex) {
+        double[] sectorRadiusValues = data.sectorRadiusValues();
+        double[] sectorAngleValues  = data.sectorAngleValues();
+        double[] sectorColorIntensityValues =
+                data.sectorColorIntensityValues();
+
+        double maximumRadius = dimension / 2.0;
+        double angleSum = cumulativeAngleValues[fromIndex];
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            cumulativeAngleValues[i] = angleSum;
+            startAngles[i] = 360.0 * angleSum / sumOfRelativeAngles;
+            angleSum += sectorAngleValues[i];
+
+            sweepAngles[i] = 360.0 * sectorAngleValues[i]
+                                   / sumOfRelativeAngles;
+
+            radii[i] = maximumRadiusValue == 0.0 ?
+                       0.0 :
+                       maximumRadius * (sectorRadiusValues[i]
+                                     / maximumRadiusValue);
+
+            intensities[i] = maximumColorIntensityValue == 0.0 ?
+                             0.0 :
+                             sectorColorIntensityValues[i]
+                                     / maximumColorIntensityValue;
+
+            colors[i] = resolveColor(intensities[i]);
+        }
+
+        if (toIndex == size) {
+            cumulativeAngleValues[size] = angleSum;
+            startAngles[size] = 360.0 * angleSum / sumOfRelativeAngles;
+        }
+    }
+
+    private Color resolveColor(double intensity) {
+        if (PieChart3DMetrics.ENABLED && palette == null) {
+            allocatedColors++;
+        }
+        
+        return palette == null ?
+               obtainColor(originalIntensityColor, intensity) :
+               palette.getColor(intensity);
+    }
+
+    private void validateWedges() {
+        if (wedgesValid) {
+            return;
+        }
+
+        wedgesValid = true;
+
+        if (minimumArcLength == 0.0) {
+            wedgeStartAngles = startAngles;
+            wedgeSweepAngles = sweepAngles;
+            wedgeRadii       = radii;
+            wedgeColors      = colors;
+            numberOfWedges   = size;
+            return;
+        }
+
+        mergeWedges();
+    }
+
+    /**
+     * Merges the runs of the adjacent thin sectors into wedges.
+     */
+    private void mergeWedges() {
+        double minimumSweepAngle =
+                Math.toDegrees(minimumArcLength / (dimension / 2.0));
+
+        if (wedgeStartAngles == startAngles 
+                || wedgeStartAngles.length < size + 1) {
+            wedgeStartAngles = new double[size + 1];
+            wedgeSweepAngles = new double[size];
+            wedgeRadii       = new double[size];
+            wedgeColors      = new Color[size];
+        }
+
+        int wedgeIndex = 0;
+        int i = 0;
+
+        while (i < size) {
+            int runStartIndex = i;
+            double sweepAngle = sweepAngles[i];
+            double radiusAccumulator = 
+                    radiusReduction.accumulate(0.0, 
+                                               radii[i], 
+                                               sweepAngles[i]);
+            double intensityAccumulator = 
+                    colorIntensityReduction.accumulate(0.0, 
+                                                       intensities[i],
+                                                       sweepAngles[i]);
+            i++;
+
+            if (sweepAngle < minimumSweepAngle) {
+                // Extend the run with the following thin sectors:
+                while (i < size
+                        && sweepAngle < minimumSweepAngle
+                        && sweepAngles[i] < minimumSweepAngle) {
+                    sweepAngle += sweepAngles[i];
+                    
+                    radiusAccumulator = 
+                            radiusReduction.accumulate(radiusAccumulator,
+                                                       radii[i],
+                                                       sweepAngles[i]);
+                    
+                    intensityAccumulator = 
+                            colorIntensityReduction.accumulate(
+                                    intensityAccumulator,
+                                    intensities[i],
+                                    sweepAngles[i]);
+                    i++;
+                }
+            }
+
+            int runLength = i - runStartIndex;
+
+            wedgeStartAngles[wedgeIndex] = startAngles[runStartIndex];
+            wedgeSweepAngles[wedgeIndex] = sweepAngle;
+
+            if (runLength == 1) {
+                wedgeRadii [wedgeIndex] = radii [runStartIndex];
+                wedgeColors[wedgeIndex] = colors[runStartIndex];
+            } else {
+                wedgeRadii[wedgeIndex] = 
+                        radiusReduction.finish(radiusAccumulator,
+                                               runLength, 
+                                               sweepAngle);
+
+                wedgeColors[wedgeIndex] = 
+                        resolveColor(colorIntensityReduction.finish(
+                                intensityAccumulator,
+                                runLength, 
+                                sweepAngle));
+            }
+
+            wedgeIndex++;
+        }
+
+        wedgeStartAngles[wedgeIndex] = startAngles[size];
+        numberOfWedges = wedgeIndex;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (sweepAngles.length >= capacity) {
+            return;
+        }
+
+        int nextCapacity = Math.max(capacity,
+                                    sweepAngles.length
+                                 + (sweepAngles.length >> 1));
+
+        cumulativeAngleValues = Arrays.copyOf(cumulativeAngleValues,
+                                              nextCapacity + 1);
+        startAngles = Arrays.copyOf(startAngles, nextCapacity + 1);
+        sweepAngles = Arrays.copyOf(sweepAngles, nextCapacity);
+        radii       = Arrays.copyOf(radii, nextCapacity);
+        intensities = Arrays.copyOf(intensities, nextCapacity);
+        colors      = Arrays.copyOf(colors, nextCapacity);
+    }
+}
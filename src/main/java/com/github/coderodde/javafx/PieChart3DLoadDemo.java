@@ -0,0 +1,290 @@
+package com.github.coderodde.javafx;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+
+/**
+ * This application generates load for measuring how the library scales. A
+ * number of simulated data sources, each running on its own virtual thread,
+ * keep updating random sectors of the charts of a {@link PieChart3DGrid}.
+ * <p>
+ * The sources write into one {@link PieChart3DFeed} per chart, which holds a
+ * fixed number of slots, so a source never blocks on and never queues for
+ * the renderer: an update overwrites the previous, not yet published value of
+ * its slot. On every pulse, the JavaFX application thread publishes the
+ * latest values of each feed into its chart and draws the grid once. Hence
+ * the memory and the work of the renderer are bounded no matter how fast the
+ * sources are, and the stale updates are coalesced.
+ * <p>
+ * Once a second, the sustained rates of the updates, the published sectors
+ * and the frames are printed to the standard output. The named parameters,
+ * given as {@code --name=value}, are:
+ * <ul>
+ *   <li>{@code sources}: the number of the data sources,</li>
+ *   <li>{@code charts}: the number of the charts,</li>
+ *   <li>{@code sectors}: the number of the sectors per chart,</li>
+ *   <li>{@code interval}: the pause of a source between two updates in
+ *       milliseconds,</li>
+ *   <li>{@code duration}: the number of seconds to run before exiting, or
+ *       zero for running until the window is closed.</li>
+ * </ul>
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public class PieChart3DLoadDemo extends Application {
+
+    private static final int DEFAULT_NUMBER_OF_SOURCES = 10_000;
+    private static final int DEFAULT_NUMBER_OF_CHARTS = 100;
+    private static final int DEFAULT_NUMBER_OF_SECTORS = 16;
+    private static final long DEFAULT_UPDATE_INTERVAL_MILLIS = 50L;
+    private static final int NUMBER_OF_COLUMNS = 10;
+    private static final double CELL_SIZE = 80.0;
+    private static final double MAXIMUM_VALUE = 100.0;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private int numberOfSources;
+    private int numberOfCharts;
+    private int numberOfSectors;
+    private long updateIntervalMillis;
+    private long durationSeconds;
+
+    private PieChart3DGrid grid;
+    private final List<PieChart3DFeed<Integer>> feeds = new ArrayList<>();
+    private ExecutorService sources;
+
+    /**
+     * Counts the updates made by the sources.
+     */
+    private final LongAdder numberOfUpdates = new LongAdder();
+
+    /**
+     * Counts the sectors published into the charts. Accessed on the JavaFX
+     * application thread only.
+     */
+    private long numberOfPublishedSectors;
+
+    /**
+     * Counts the frames that drew the grid. Accessed on the JavaFX
+     * application thread only.
+     */
+    private long numberOfFrames;
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+
+    @Override
+    public void start(Stage primaryStage) {
+        Map<String, String> parameters = getParameters().getNamed();
+
+        numberOfSources = parseParameter(parameters,
+                                         "sources",
+                                         DEFAULT_NUMBER_OF_SOURCES);
+        numberOfCharts = parseParameter(parameters,
+                                        "charts",
+                                        DEFAULT_NUMBER_OF_CHARTS);
+        numberOfSectors = parseParameter(parameters,
+                                         "sectors",
+                                         DEFAULT_NUMBER_OF_SECTORS);
+        updateIntervalMillis = parseParameter(parameters,
+                                              "interval",
+                                              DEFAULT_UPDATE_INTERVAL_MILLIS);
+        durationSeconds = parseParameter(parameters, "duration", 0L);
+
+        createCharts();
+
+        StackPane root = new StackPane(grid);
+        primaryStage.setTitle("PieChart3D load demo");
+        primaryStage.setScene(new Scene(root,
+                                        grid.getWidth(),
+                                        grid.getHeight()));
+        primaryStage.setOnCloseRequest(event -> shutdown());
+        primaryStage.show();
+
+        startSources();
+        createPump().start();
+    }
+
+    /**
+     * Interrupts the sources and exits.
+     */
+    private void shutdown() {
+        sources.shutdownNow();
+        Platform.exit();
+    }
+
+    private void createCharts() {
+        if (numberOfCharts == 0 || numberOfSectors == 0) {
+            throw new IllegalArgumentException(
+                    "The number of charts or sectors is zero.");
+        }
+
+        grid = new PieChart3DGrid(NUMBER_OF_COLUMNS, CELL_SIZE);
+        for (int i = 0; i < numberOfCharts; i++) {
+            grid.addChart();
+            feeds.add(new PieChart3DFeed<>(numberOfSectors));
+        }
+    }
+
+    /**
+     * Starts a virtual thread per source. The source {@code i} updates the
+     * chart {@code i % numberOfCharts}; the sources sharing a sector race for
+     * its slot.
+     */
+    private void startSources() {
+        sources = Executors.newVirtualThreadPerTaskExecutor();
+
+        for (int i = 0; i < numberOfSources; i++) {
+            PieChart3DFeed<Integer> feed = feeds.get(i % numberOfCharts);
+            // Box the key once rather than per update:
+            Integer key = (i / numberOfCharts) % numberOfSectors;
+            sources.execute(() -> runSource(feed, key));
+        }
+    }
+
+    private void runSource(PieChart3DFeed<Integer> feed, Integer key) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        try {
+            // Spread the first updates over an interval:
+            Thread.sleep(random.nextLong(updateIntervalMillis + 1L));
+
+            while (!Thread.currentThread().isInterrupted()) {
+                feed.update(key,
+                            MAXIMUM_VALUE * random.nextDouble(),
+                            MAXIMUM_VALUE * random.nextDouble(),
+                            MAXIMUM_VALUE * random.nextDouble());
+
+                numberOfUpdates.increment();
+                Thread.sleep(updateIntervalMillis);
+            }
+        } catch (InterruptedException ex) {
+            // Shut down.
+        }
+    }
+
+    /**
+     * Creates the timer that publishes the feeds and draws the grid on every
+     * pulse, and reports the rates once a second.
+     */
+    private AnimationTimer createPump() {
+        return new AnimationTimer() {
+
+            private long startNanos = -1L;
+            private long reportNanos;
+            private long reportedUpdates;
+            private long reportedPublishedSectors;
+            private long reportedFrames;
+
+            @Override
+            public void handle(long now) {
+                if (startNanos < 0L) {
+                    startNanos  = now;
+                    reportNanos = now;
+                }
+
+                publishAndDraw();
+
+                if (now - reportNanos >= NANOS_PER_SECOND) {
+                    report(now - reportNanos);
+                    reportNanos = now;
+                }
+
+                if (durationSeconds > 0L
+                        && now - startNanos
+                                >= durationSeconds * NANOS_PER_SECOND) {
+                    stop();
+                    shutdown();
+                }
+            }
+
+            private void report(long elapsedNanos) {
+                long updates = numberOfUpdates.sum();
+                double seconds = (double) elapsedNanos / NANOS_PER_SECOND;
+                double updateRate = (updates - reportedUpdates) / seconds;
+                double publicationRate =
+                        (numberOfPublishedSectors - reportedPublishedSectors)
+                        / seconds;
+                double frameRate = (numberOfFrames - reportedFrames) / seconds;
+                double coalescedPercentage = updateRate == 0.0 ?
+                        0.0 :
+                        100.0 * (1.0 - publicationRate / updateRate);
+
+                System.out.printf(
+                        "%d sources, %d charts: %.0f updates/s, "
+                                + "%.0f published/s (%.1f%% coalesced), "
+                                + "%.1f frames/s%n",
+                        numberOfSources,
+                        numberOfCharts,
+                        updateRate,
+                        publicationRate,
+                        Math.max(0.0, coalescedPercentage),
+                        frameRate);
+
+                reportedUpdates          = updates;
+                reportedPublishedSectors = numberOfPublishedSectors;
+                reportedFrames           = numberOfFrames;
+            }
+        };
+    }
+
+    private void publishAndDraw() {
+        long publishedSectors = 0L;
+
+        for (int i = 0; i < numberOfCharts; i++) {
+            publishedSectors += feeds.get(i).publishTo(grid.getData(i));
+        }
+
+        if (publishedSectors > 0L) {
+            grid.draw();
+            numberOfPublishedSectors += publishedSectors;
+            numberOfFrames++;
+        }
+    }
+
+    private static int parseParameter(Map<String, String> parameters,
+                                      String name,
+                                      int defaultValue) {
+        long parsedValue =
+                parseParameter(parameters, name, (long) defaultValue);
+
+        if (parsedValue > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "The parameter " + name + " is too large.");
+        }
+
+        return (int) parsedValue;
+    }
+
+    private static long parseParameter(Map<String, String> parameters,
+                                       String name,
+                                       long defaultValue) {
+        String value = parameters.get(name);
+
+        if (value == null) {
+            return defaultValue;
+        }
+
+        long parsedValue = Long.parseLong(value);
+
+        if (parsedValue < 0L) {
+            throw new IllegalArgumentException(
+                    "The parameter " + name + " is negative.");
+        }
+
+        return parsedValue;
+    }
+}
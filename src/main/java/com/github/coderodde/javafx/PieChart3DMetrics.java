@@ -0,0 +1,247 @@
+package com.github.coderodde.javafx;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * This class collects the rendering metrics of all the pie charts: the draw 
+ * times split into the layout, the bounding box, the background and the 
+ * sector phases, the numbers of {@code fillArc} calls and allocated colors, 
+ * the skipped redraws and the mutated entries.
+ * <p>
+ * The metrics are disabled unless the system property 
+ * {@value #ENABLED_PROPERTY} is {@code true} at startup. The flag is a 
+ * {@code static final} constant, so the JIT compiler removes the disabled 
+ * instrumentation entirely. When enabled, the metrics are registered as an 
+ * MXBean named {@value #OBJECT_NAME}, and the 
+ * {@link PieChart3DDrawListener}s are notified after every draw.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class PieChart3DMetrics implements PieChart3DMetricsMXBean {
+
+    /**
+     * The system property enabling the metrics.
+     */
+    public static final String ENABLED_PROPERTY = 
+            "com.github.coderodde.javafx.metrics";
+
+    /**
+     * The JMX object name of the metrics.
+     */
+    public static final String OBJECT_NAME = 
+            "com.github.coderodde.javafx:type=PieChart3DMetrics";
+
+    /**
+     * Guards all the instrumentation.
+     */
+    static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    private static final PieChart3DMetrics INSTANCE = new PieChart3DMetrics();
+
+    static {
+        if (ENABLED) {
+            registerMBean();
+        }
+    }
+
+    private final LongAdder drawCount            = new LongAdder();
+    private final LongAdder partialDrawCount     = new LongAdder();
+    private final LongAdder skippedDrawCount     = new LongAdder();
+    private final LongAdder fillArcCount         = new LongAdder();
+    private final LongAdder allocatedColorCount  = new LongAdder();
+    private final LongAdder mutatedEntryCount    = new LongAdder();
+
+    private final LatencyHistogram drawTimes        = new LatencyHistogram();
+    private final LatencyHistogram layoutTimes      = new LatencyHistogram();
+    private final LatencyHistogram boundingBoxTimes = new LatencyHistogram();
+    private final LatencyHistogram backgroundTimes  = new LatencyHistogram();
+    private final LatencyHistogram sectorTimes      = new LatencyHistogram();
+
+    private final List<PieChart3DDrawListener> listeners = 
+            new CopyOnWriteArrayList<>();
+
+    private PieChart3DMetrics() {}
+
+    public static PieChart3DMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server unless already
+     * registered.
+     */
+    public static void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                             .registerMBean(INSTANCE, 
+                                            new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException ex) {
+            // Already registered.
+        } catch (JMException ex) {
+            throw new IllegalStateException(
+                    "Could not register the metrics MXBean.", ex);
+        }
+    }
+
+    /**
+     * Adds a listener notified after every draw. Has no effect on the 
+     * notifications unless the metrics are enabled.
+     * 
+     * @param listener the listener to add.
+     */
+    public void addListener(PieChart3DDrawListener listener) {
+        listeners.add(Objects.requireNonNull(listener,
+                                             "The listener is null."));
+    }
+
+    public void removeListener(PieChart3DDrawListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return ENABLED;
+    }
+
+    @Override
+    public long getDrawCount() {
+        return drawCount.sum();
+    }
+
+    @Override
+    public long getPartialDrawCount() {
+        return partialDrawCount.sum();
+    }
+
+    @Override
+    public long getSkippedDrawCount() {
+        return skippedDrawCount.sum();
+    }
+
+    @Override
+    public long getFillArcCount() {
+        return fillArcCount.sum();
+    }
+
+    @Override
+    public long getAllocatedColorCount() {
+        return allocatedColorCount.sum();
+    }
+
+    @Override
+    public long getMutatedEntryCount() {
+        return mutatedEntryCount.sum();
+    }
+
+    @Override
+    public double getMeanDrawNanos() {
+        return drawTimes.getMean();
+    }
+
+    @Override
+    public long getMaximumDrawNanos() {
+        return drawTimes.getMaximum();
+    }
+
+    @Override
+    public double getMeanLayoutNanos() {
+        return layoutTimes.getMean();
+    }
+
+    @Override
+    public double getMeanBoundingBoxNanos() {
+        return boundingBoxTimes.getMean();
+    }
+
+    @Override
+    public double getMeanBackgroundNanos() {
+        return backgroundTimes.getMean();
+    }
+
+    @Override
+    public double getMeanSectorNanos() {
+        return sectorTimes.getMean();
+    }
+
+    @Override
+    public long[] getDrawTimeHistogram() {
+        return drawTimes.toArray();
+    }
+
+    @Override
+    public long[] getLayoutTimeHistogram() {
+        return layoutTimes.toArray();
+    }
+
+    @Override
+    public long[] getBoundingBoxTimeHistogram() {
+        return boundingBoxTimes.toArray();
+    }
+
+    @Override
+    public long[] getBackgroundTimeHistogram() {
+        return backgroundTimes.toArray();
+    }
+
+    @Override
+    public long[] getSectorTimeHistogram() {
+        return sectorTimes.toArray();
+    }
+
+    @Override
+    public long getDrawTimePercentile(double percentile) {
+        return drawTimes.getPercentile(percentile);
+    }
+
+    @Override
+    public void reset() {
+        drawCount.reset();
+        partialDrawCount.reset();
+        skippedDrawCount.reset();
+        fillArcCount.reset();
+        allocatedColorCount.reset();
+        mutatedEntryCount.reset();
+        drawTimes.reset();
+        layoutTimes.reset();
+        boundingBoxTimes.reset();
+        backgroundTimes.reset();
+        sectorTimes.reset();
+    }
+
+    void recordDraw(PieChart3D chart, PieChart3DFrameStatistics statistics) {
+        drawCount.increment();
+
+        if (statistics.partial) {
+            partialDrawCount.increment();
+        }
+
+        fillArcCount.add(statistics.fillArcCalls);
+        allocatedColorCount.add(statistics.allocatedColors);
+        drawTimes.record(statistics.totalNanos);
+        layoutTimes.record(statistics.layoutNanos);
+        boundingBoxTimes.record(statistics.boundingBoxNanos);
+        backgroundTimes.record(statistics.backgroundNanos);
+        sectorTimes.record(statistics.sectorNanos);
+
+        for (PieChart3DDrawListener listener : listeners) {
+            listener.drawn(chart, statistics);
+        }
+    }
+
+    void recordSkippedDraw() {
+        skippedDrawCount.increment();
+    }
+
+    void recordMutatedEntries(int numberOfEntries) {
+        mutatedEntryCount.add(numberOfEntries);
+    }
+}
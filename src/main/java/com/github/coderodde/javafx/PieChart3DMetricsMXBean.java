@@ -0,0 +1,59 @@
+package com.github.coderodde.javafx;
+
+/**
+ * This interface defines the management view of {@link PieChart3DMetrics}.
+ * The histograms are arrays of 64 bucket counts; the bucket {@code k} counts
+ * the durations within {@code [2^k, 2^(k + 1))} nanoseconds.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public interface PieChart3DMetricsMXBean {
+
+    boolean isEnabled();
+
+    long getDrawCount();
+
+    long getPartialDrawCount();
+
+    long getSkippedDrawCount();
+
+    long getFillArcCount();
+
+    long getAllocatedColorCount();
+
+    long getMutatedEntryCount();
+
+    double getMeanDrawNanos();
+
+    long getMaximumDrawNanos();
+
+    double getMeanLayoutNanos();
+
+    double getMeanBoundingBoxNanos();
+
+    double getMeanBackgroundNanos();
+
+    double getMeanSectorNanos();
+
+    long[] getDrawTimeHistogram();
+
+    long[] getLayoutTimeHistogram();
+
+    long[] getBoundingBoxTimeHistogram();
+
+    long[] getBackgroundTimeHistogram();
+
+    long[] getSectorTimeHistogram();
+
+    /**
+     * Returns an upper bound of the given percentile of the draw times.
+     *
+     * @param percentile the percentile within {@code [0, 100]}.
+     * @return the percentile in nanoseconds.
+     */
+    long getDrawTimePercentile(double percentile);
+
+    void reset();
+}
@@ -0,0 +1,382 @@
+package com.github.coderodde.javafx;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This class implements a node of a hierarchical pie chart model. Like a
+ * {@link PieChart3DEntry}, a node holds a radius, an angle and a color
+ * intensity value. In addition, a node keeps its angle subtotal: the sum of
+ * the angle subtotals of its children, or its own angle value if it has
+ * none. The subtotals are maintained incrementally, so modifying a node
+ * costs time proportional to its depth.
+ * <p>
+ * The children of a node are loaded lazily by a
+ * {@link PieChart3DNodeProvider} when the node is first shown, and the
+ * children loaded so may be unloaded again. Unloading retains the subtotal
+ * of the node until its children are loaded anew; the angle value of the
+ * node is left as is. The children added by {@link #addChild(PieChart3DNode)}
+ * are never unloaded by a {@link PieChart3DSunburst}.
+ * <p>
+ * Instances of this class are not thread-safe; a tree shown by a
+ * {@link PieChart3DSunburst} must be modified on the JavaFX application
+ * thread.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class PieChart3DNode {
+
+    private final String label;
+
+    private double radiusValue;
+    private double angleValue;
+    private double colorIntensityValue;
+
+    /**
+     * The angle subtotal of this node.
+     */
+    private double angleSubtotal;
+
+    private PieChart3DNode parent;
+
+    /**
+     * The children of this node, or {@code null} if not loaded.
+     */
+    private List<PieChart3DNode> children;
+
+    /**
+     * Indicates whether {@link #children} were loaded by a provider and not
+     * modified since.
+     */
+    private boolean childrenProvided;
+
+    /**
+     * Indicates whether the children of this node are unloaded and
+     * {@link #angleSubtotal} is their subtotal retained at the unloading.
+     */
+    private boolean subtotalRetained;
+
+    /**
+     * Counts the modifications of the tree rooted at this node. Maintained
+     * only by the roots.
+     */
+    private long modificationCount;
+
+    public PieChart3DNode(String label,
+                          double radiusValue,
+                          double angleValue,
+                          double colorIntensityValue) {
+        this.label = Objects.requireNonNull(label, "The label is null.");
+        PieChart3DEntry.checkValue(radiusValue);
+        PieChart3DEntry.checkValue(angleValue);
+        PieChart3DEntry.checkValue(colorIntensityValue);
+
+        this.radiusValue         = radiusValue;
+        this.angleValue          = angleValue;
+        this.colorIntensityValue = colorIntensityValue;
+        this.angleSubtotal       = angleValue;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public double getRadiusValue() {
+        return radiusValue;
+    }
+
+    public double getAngleValue() {
+        return angleValue;
+    }
+
+    public double getColorIntensityValue() {
+        return colorIntensityValue;
+    }
+
+    public double getAngleSubtotal() {
+        return angleSubtotal;
+    }
+
+    public PieChart3DNode getParent() {
+        return parent;
+    }
+
+    /**
+     * Returns the number of the ancestors of this node.
+     *
+     * @return the depth of this node.
+     */
+    public int getDepth() {
+        int depth = 0;
+
+        for (PieChart3DNode node = parent; node != null; node = node.parent) {
+            depth++;
+        }
+
+        return depth;
+    }
+
+    public PieChart3DNode getRoot() {
+        PieChart3DNode node = this;
+
+        while (node.parent != null) {
+            node = node.parent;
+        }
+
+        return node;
+    }
+
+    /**
+     * Returns {@code true} if the children of this node are loaded.
+     *
+     * @return {@code true} if the children are loaded.
+     */
+    public boolean isLoaded() {
+        return children != null;
+    }
+
+    /**
+     * Returns {@code true} if the children of this node are loaded and there
+     * are none.
+     *
+     * @return {@code true} if this node is a known leaf.
+     */
+    public boolean isLeaf() {
+        return children != null && children.isEmpty();
+    }
+
+    /**
+     * Returns an unmodifiable view of the loaded children of this node.
+     *
+     * @return the children, which are empty if not loaded.
+     */
+    public List<PieChart3DNode> getChildren() {
+        return children == null ?
+               Collections.emptyList() :
+               Collections.unmodifiableList(children);
+    }
+
+    public void setRadiusValue(double radiusValue) {
+        PieChart3DEntry.checkValue(radiusValue);
+        this.radiusValue = radiusValue;
+        getRoot().modificationCount++;
+    }
+
+    public void setColorIntensityValue(double colorIntensityValue) {
+        PieChart3DEntry.checkValue(colorIntensityValue);
+        this.colorIntensityValue = colorIntensityValue;
+        getRoot().modificationCount++;
+    }
+
+    /**
+     * Sets the angle value of this node. Unless this node has children,
+     * loaded or unloaded, the subtotals of this node and its ancestors change
+     * accordingly.
+     *
+     * @param angleValue the new angle value.
+     */
+    public void setAngleValue(double angleValue) {
+        PieChart3DEntry.checkValue(angleValue);
+        this.angleValue = angleValue;
+
+        if (children == null ? !subtotalRetained : children.isEmpty()) {
+            updateSubtotal(angleValue);
+        } else {
+            getRoot().modificationCount++;
+        }
+    }
+
+    /**
+     * Appends {@code child} to the children of this node, which counts as
+     * loaded afterwards.
+     *
+     * @param child the node to append.
+     */
+    public void addChild(PieChart3DNode child) {
+        Objects.requireNonNull(child, "The child is null.");
+
+        if (child.parent != null) {
+            throw new IllegalArgumentException("The child has a parent.");
+        }
+
+        for (PieChart3DNode node = this; node != null; node = node.parent) {
+            if (node == child) {
+                throw new IllegalArgumentException(
+                        "The child is an ancestor of this node.");
+            }
+        }
+
+        if (children == null) {
+            children = new ArrayList<>();
+        }
+
+        boolean firstChild = children.isEmpty();
+        child.parent = this;
+        children.add(child);
+        childrenProvided = false;
+        subtotalRetained = false;
+
+        if (firstChild) {
+            // The subtotal was the angle value of this node or the retained
+            // subtotal:
+            updateSubtotal(child.angleSubtotal);
+        } else {
+            addToSubtotals(child.angleSubtotal);
+        }
+    }
+
+    /**
+     * Removes the {@code index}th child of this node.
+     *
+     * @param index the index of the child.
+     * @return the removed child.
+     */
+    public PieChart3DNode removeChild(int index) {
+        Objects.checkIndex(index, children == null ? 0 : children.size());
+
+        PieChart3DNode child = children.remove(index);
+        child.parent = null;
+        childrenProvided = false;
+
+        if (children.isEmpty()) {
+            updateSubtotal(angleValue);
+        } else {
+            addToSubtotals(-child.angleSubtotal);
+        }
+
+        return child;
+    }
+
+    /**
+     * Discards the children of this node. The subtotal of this node is
+     * retained, so that the chart stays intact, until the children are
+     * loaded anew by the next show.
+     */
+    public void unloadChildren() {
+        if (children == null) {
+            return;
+        }
+
+        for (PieChart3DNode child : children) {
+            child.parent = null;
+        }
+
+        subtotalRetained = !children.isEmpty();
+        children         = null;
+        childrenProvided = false;
+    }
+
+    /**
+     * Discards the children of this node if they were loaded by a provider
+     * and not modified since.
+     */
+    void unloadProvidedChildren() {
+        if (childrenProvided) {
+            unloadChildren();
+        }
+    }
+
+    /**
+     * Loads the children of this node by {@code provider} unless already
+     * loaded. The loaded children are validated before this node is
+     * modified.
+     *
+     * @param provider the provider of the children.
+     */
+    void loadChildren(PieChart3DNodeProvider provider) {
+        if (children != null) {
+            return;
+        }
+
+        List<PieChart3DNode> loadedChildren = provider.loadChildren(this);
+
+        if (loadedChildren == null) {
+            loadedChildren = Collections.emptyList();
+        }
+
+        checkLoadedChildren(loadedChildren);
+        children = new ArrayList<>(loadedChildren.size());
+
+        for (PieChart3DNode child : loadedChildren) {
+            addChild(child);
+        }
+
+        if (subtotalRetained) {
+            // The children are gone:
+            subtotalRetained = false;
+            updateSubtotal(angleValue);
+        }
+
+        childrenProvided = true;
+    }
+
+    long getModificationCount() {
+        return modificationCount;
+    }
+
+    private void checkLoadedChildren(List<PieChart3DNode> loadedChildren) {
+        Set<PieChart3DNode> checkedChildren =
+                Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (PieChart3DNode child : loadedChildren) {
+            Objects.requireNonNull(child, "A loaded child is null.");
+
+            if (child.parent != null) {
+                throw new IllegalArgumentException(
+                        "A loaded child has a parent.");
+            }
+
+            if (!checkedChildren.add(child)) {
+                throw new IllegalArgumentException(
+                        "A loaded child occurs twice.");
+            }
+        }
+
+        for (PieChart3DNode node = this; node != null; node = node.parent) {
+            if (checkedChildren.contains(node)) {
+                throw new IllegalArgumentException(
+                        "A loaded child is an ancestor of this node.");
+            }
+        }
+    }
+
+    /**
+     * Sets the subtotal of this node and propagates the change to the
+     * ancestors.
+     *
+     * @param subtotal the new subtotal.
+     */
+    private void updateSubtotal(double subtotal) {
+        addToSubtotals(subtotal - angleSubtotal);
+        angleSubtotal = subtotal;
+    }
+
+    /**
+     * Adds {@code delta} to the subtotals of this node and its ancestors.
+     *
+     * @param delta the change of the subtotal.
+     */
+    private void addToSubtotals(double delta) {
+        PieChart3DNode node = this;
+
+        while (true) {
+            if (delta != 0.0) {
+                node.angleSubtotal += delta;
+            }
+
+            if (node.parent == null) {
+                break;
+            }
+
+            node = node.parent;
+        }
+
+        node.modificationCount++;
+    }
+}
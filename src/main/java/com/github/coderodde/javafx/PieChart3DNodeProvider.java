@@ -0,0 +1,27 @@
+package com.github.coderodde.javafx;
+
+import java.util.List;
+
+/**
+ * This interface defines the source of the children of the nodes of a
+ * hierarchical pie chart. The children are requested lazily, when their
+ * parent is shown by a {@link PieChart3DSunburst} and its children are not
+ * loaded yet.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+@FunctionalInterface
+public interface PieChart3DNodeProvider {
+
+    /**
+     * Returns the children of {@code parent}. The returned nodes must have no
+     * parents. Called on the JavaFX application thread.
+     *
+     * @param parent the node whose children to load.
+     * @return the children of {@code parent}, or an empty list or
+     *         {@code null} if it is a leaf.
+     */
+    List<PieChart3DNode> loadChildren(PieChart3DNode parent);
+}
@@ -0,0 +1,76 @@
+package com.github.coderodde.javafx;
+
+import java.util.Objects;
+import javafx.scene.paint.Color;
+
+/**
+ * This class implements a quantized intensity palette. It precomputes a fixed
+ * number of shades of the original intensity color so that the sectors with
+ * close intensities share the same {@link Color} instance.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+final class PieChart3DPalette {
+
+    /**
+     * The minimum number of levels in a palette.
+     */
+    static final int MINIMUM_NUMBER_OF_LEVELS = 2;
+
+    /**
+     * The original intensity color of this palette.
+     */
+    private final Color originalIntensityColor;
+
+    /**
+     * The shades from the zero intensity to the full intensity.
+     */
+    private final Color[] colors;
+
+    PieChart3DPalette(Color originalIntensityColor, int numberOfLevels) {
+        checkNumberOfLevels(numberOfLevels);
+
+        this.originalIntensityColor =
+                Objects.requireNonNull(originalIntensityColor,
+                                       "The input color is null.");
+
+        this.colors = new Color[numberOfLevels];
+
+        for (int i = 0; i < numberOfLevels; i++) {
+            colors[i] = PieChart3DLayout.obtainColor(
+                    originalIntensityColor,
+                    (double) i / (numberOfLevels - 1));
+        }
+    }
+
+    Color getOriginalIntensityColor() {
+        return originalIntensityColor;
+    }
+
+    int getNumberOfLevels() {
+        return colors.length;
+    }
+
+    /**
+     * Returns the shade closest to the relative intensity {@code intensity}.
+     *
+     * @param intensity the relative intensity within {@code [0, 1]}.
+     * @return the shared color instance.
+     */
+    Color getColor(double intensity) {
+        return colors[(int) Math.round(intensity * (colors.length - 1))];
+    }
+
+    static void checkNumberOfLevels(int numberOfLevels) {
+        if (numberOfLevels < MINIMUM_NUMBER_OF_LEVELS) {
+            throw new IllegalArgumentException(
+                    "The number of palette levels is too small: "
+                            + numberOfLevels
+                            + ". Must be at least "
+                            + MINIMUM_NUMBER_OF_LEVELS
+                            + ".");
+        }
+    }
+}
@@ -0,0 +1,567 @@
+package com.github.coderodde.javafx;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Objects;
+import javafx.scene.paint.Color;
+
+/**
+ * This class implements a pure-Java rasterizer for pie charts. Unlike
+ * {@link PieChart3D}, it does not need the JavaFX toolkit or the FX
+ * application thread: it writes ARGB pixels directly into an {@code int}
+ * array, an {@link IntBuffer} or a {@link ByteBuffer}, and may encode them as
+ * a PNG image.
+ * <p>
+ * The chart is rasterized scanline by scanline. For each pixel corner, the
+ * sector containing its polar angle is looked up once and shared by the four
+ * adjacent pixels. A pixel whose corners fall into the same sector and which
+ * lies entirely on one side of the sector rim is filled with a single color;
+ * only the pixels crossed by an edge are supersampled, which provides the
+ * anti-aliasing.
+ * <p>
+ * All the buffers are reused between renders. Instances of this class are not
+ * thread-safe.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class PieChart3DRasterizer {
+
+    private static final int DEFAULT_ANTI_ALIASING_SAMPLES = 4;
+
+    /**
+     * The largest dimension whose byte buffer of
+     * {@code 4 * dimension * dimension} bytes is indexable by an {@code int}.
+     */
+    public static final int MAXIMUM_DIMENSION = 23_170;
+
+    /**
+     * The pixels closer than this to the center are always supersampled,
+     * since all the sectors meet there.
+     */
+    private static final double CENTER_SUPERSAMPLING_RADIUS = 2.0;
+
+    private final int dimension;
+
+    private Color boxColor = PieChart3DColors.DEFAULT_BOX_COLOR;
+    private Color chartBackgroundColor =
+            PieChart3DColors.DEFAULT_CHART_BACKGROUND_COLOR;
+    private Color originalIntensityColor =
+            PieChart3DColors.DEFAULT_ORIGINAL_INTENSITY_COLOR;
+    private double angleOffset = 0.0;
+
+    /**
+     * The number of samples per pixel along each axis taken on the edges.
+     */
+    private int antiAliasingSamples = DEFAULT_ANTI_ALIASING_SAMPLES;
+
+    // The tables prepared for the current render:
+    private double[] startAngles = new double[1];
+    private double[] radii       = new double[0];
+    private int[] sectorArgbs    = new int[0];
+    private int numberOfSectors;
+    private int boxArgb;
+    private int chartBackgroundArgb;
+
+    /**
+     * The pixels of the last render to the internal buffer.
+     */
+    private int[] pixels;
+
+    // The sector indices of the pixel corners on the upper and the lower
+    // edge of the current scanline:
+    private int[] upperCornerSectors;
+    private int[] lowerCornerSectors;
+
+    private final PngEncoder pngEncoder = new PngEncoder();
+
+    /**
+     * Constructs a rasterizer of {@code dimension * dimension} pixels.
+     *
+     * @param dimension the width and the height of the image, at most
+     *                  {@link #MAXIMUM_DIMENSION}.
+     */
+    public PieChart3DRasterizer(int dimension) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException(
+                    "The dimension is non-positive.");
+        }
+
+        if (dimension > MAXIMUM_DIMENSION) {
+            throw new IllegalArgumentException(
+                    "The dimension is larger than "
+                            + MAXIMUM_DIMENSION
+                            + ".");
+        }
+
+        this.dimension = dimension;
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    public Color getBoxBackgroundColor() {
+        return boxColor;
+    }
+
+    public Color getChartBackgroundColor() {
+        return chartBackgroundColor;
+    }
+
+    public Color getOriginalIntensityColor() {
+        return originalIntensityColor;
+    }
+
+    public double getAngleOffset() {
+        return angleOffset;
+    }
+
+    public int getAntiAliasingSamples() {
+        return antiAliasingSamples;
+    }
+
+    public void setBoxBackgroundColor(Color boxColor) {
+        this.boxColor =
+                Objects.requireNonNull(boxColor, "The input color is null.");
+    }
+
+    public void setChartBackgroundColor(Color chartBackgroundColor) {
+        this.chartBackgroundColor =
+                Objects.requireNonNull(
+                        chartBackgroundColor,
+                        "The input color is null.");
+    }
+
+    public void setOriginalIntensityColor(Color originalIntensityColor) {
+        this.originalIntensityColor =
+                Objects.requireNonNull(
+                        originalIntensityColor,
+                        "The input color is null.");
+    }
+
+    public void setAngleOffset(double angleOffset) {
+        this.angleOffset = PieChart3DLayout.normalizeAngleOffset(angleOffset);
+    }
+
+    /**
+     * Sets the number of samples per pixel along each axis taken on the
+     * edges of the chart. One disables the anti-aliasing.
+     *
+     * @param antiAliasingSamples the number of samples per axis.
+     */
+    public void setAntiAliasingSamples(int antiAliasingSamples) {
+        if (antiAliasingSamples < 1) {
+            throw new IllegalArgumentException(
+                    "The number of anti-aliasing samples is non-positive.");
+        }
+
+        this.antiAliasingSamples = antiAliasingSamples;
+    }
+
+    /**
+     * Copies the colors and the angle offset of {@code chart}.
+     *
+     * @param chart the chart whose settings to copy.
+     */
+    public void copySettings(PieChart3D chart) {
+        setBoxBackgroundColor(chart.getBoxBackgroundColor());
+        setChartBackgroundColor(chart.getChartBackgroundColor());
+        setOriginalIntensityColor(chart.getOriginalIntensityColor());
+        setAngleOffset(chart.getAngleOffset());
+    }
+
+    /**
+     * Renders {@code data} into the internal buffer, which is returned. The
+     * buffer holds {@code dimension * dimension} ARGB pixels row by row, and
+     * is overwritten by the next render.
+     *
+     * @param data the data to render.
+     * @return the internal pixel buffer.
+     */
+    public int[] render(PieChart3DData data) {
+        int numberOfPixels = dimension * dimension;
+
+        if (pixels == null || pixels.length != numberOfPixels) {
+            pixels = new int[numberOfPixels];
+        }
+
+        render(data, pixels, 0, dimension);
+        return pixels;
+    }
+
+    /**
+     * Renders {@code data} into {@code pixels}. The pixel {@code (x, y)} is
+     * stored at index {@code offset + y * scanlineStride + x}.
+     *
+     * @param data           the data to render.
+     * @param pixels         the target ARGB pixels.
+     * @param offset         the index of the top left pixel.
+     * @param scanlineStride the distance between the rows of pixels.
+     */
+    public void render(PieChart3DData data,
+                       int[] pixels,
+                       int offset,
+                       int scanlineStride) {
+        Objects.requireNonNull(pixels, "The pixel array is null.");
+        checkTarget(pixels.length, offset, scanlineStride);
+        prepare(data);
+
+        if (upperCornerSectors == null
+                || upperCornerSectors.length < dimension + 1) {
+            upperCornerSectors = new int[dimension + 1];
+            lowerCornerSectors = new int[dimension + 1];
+        }
+
+        renderRegion(0,
+                     0,
+                     dimension,
+                     dimension,
+                     pixels,
+                     offset,
+                     scanlineStride,
+                     upperCornerSectors,
+                     lowerCornerSectors);
+    }
+
+    /**
+     * Renders {@code data} into {@code buffer} starting at its current
+     * position, row by row. The position is advanced past the written pixels.
+     *
+     * @param data   the data to render.
+     * @param buffer the target buffer.
+     */
+    public void render(PieChart3DData data, IntBuffer buffer) {
+        buffer.put(render(data));
+    }
+
+    /**
+     * Renders {@code data} into {@code buffer} starting at its current
+     * position, row by row, four bytes per pixel. The pixels are written with
+     * {@link ByteBuffer#putInt(int)}, so a big-endian buffer receives the
+     * bytes in the ARGB order and a little-endian buffer in the BGRA order;
+     * the latter is what {@code PixelFormat.getByteBgraInstance()} expects.
+     *
+     * @param data   the data to render.
+     * @param buffer the target buffer.
+     */
+    public void render(PieChart3DData data, ByteBuffer buffer) {
+        buffer.asIntBuffer().put(render(data));
+        buffer.position(buffer.position() + 4 * dimension * dimension);
+    }
+
+    /**
+     * Renders {@code data} and writes it to {@code out} as a PNG image.
+     *
+     * @param data the data to render.
+     * @param out  the target stream.
+     * @throws IOException if writing to {@code out} fails.
+     */
+    public void writePng(PieChart3DData data, OutputStream out)
+            throws IOException {
+        pngEncoder.write(render(data), 0, dimension, dimension, dimension, out);
+    }
+
+    /**
+     * Prepares the sector tables for rendering {@code data}.
+     *
+     * @param data the data to render.
+     */
+    void prepare(PieChart3DData data) {
+        Objects.requireNonNull(data, "The data is null.");
+
+        int size = data.size();
+        double sumOfRelativeAngles = data.getSectorAngleValueSum();
+        double maximumRadiusValue = data.getMaximumSectorRadiusValue();
+        double maximumColorIntensityValue =
+                data.getMaximumSectorColorIntensityValue();
+
+        boxArgb = toArgb(boxColor);
+        chartBackgroundArgb = toArgb(composite(chartBackgroundColor,
+                                               boxColor));
+
+        if (sumOfRelativeAngles == 0.0) {
+            // Nothing to draw:
+            numberOfSectors = 0;
+            return;
+        }
+
+        if (radii.length < size) {
+            startAngles = new double[size + 1];
+            radii       = new double[size];
+            sectorArgbs = new int[size];
+        }
+
+        double[] sectorRadiusValues = data.sectorRadiusValues();
+        double[] sectorAngleValues  = data.sectorAngleValues();
+        double[] sectorColorIntensityValues =
+                data.sectorColorIntensityValues();
+
+        double maximumRadius = dimension / 2.0;
+        double angleSum = 0.0;
+
+        for (int i = 0; i < size; i++) {
+            startAngles[i] = 360.0 * angleSum / sumOfRelativeAngles;
+            angleSum += sectorAngleValues[i];
+
+            radii[i] = maximumRadiusValue == 0.0 ?
+                       0.0 :
+                       maximumRadius * (sectorRadiusValues[i]
+                                     / maximumRadiusValue);
+
+            sectorArgbs[i] = toArgb(PieChart3DLayout.obtainColor(
+                    originalIntensityColor,
+                    maximumColorIntensityValue == 0.0 ?
+                    0.0 :
+                    sectorColorIntensityValues[i]
+                            / maximumColorIntensityValue));
+        }
+
+        startAngles[size] = 360.0;
+        numberOfSectors = size;
+    }
+
+    /**
+     * Renders the pixels {@code x0 <= x < x1} and {@code y0 <= y < y1} into
+     * {@code pixels}, the pixel {@code (x, y)} being stored at index
+     * {@code offset + y * scanlineStride + x}. Depends only on the tables
+     * built by {@link #prepare(PieChart3DData)}, so the disjoint regions may
+     * be rendered concurrently as long as each thread has its own corner
+     * arrays, holding at least {@code x1 - x0 + 1} elements each.
+     */
+    void renderRegion(int x0,
+                      int y0,
+                      int x1,
+                      int y1,
+                      int[] pixels,
+                      int offset,
+                      int scanlineStride,
+                      int[] upperCornerSectors,
+                      int[] lowerCornerSectors) {
+        computeCornerSectors(y0, x0, x1, upperCornerSectors);
+
+        for (int y = y0; y < y1; y++) {
+            computeCornerSectors(y + 1, x0, x1, lowerCornerSectors);
+            int rowOffset = offset + y * scanlineStride;
+
+            for (int x = x0; x < x1; x++) {
+                int i = x - x0;
+
+                pixels[rowOffset + x] =
+                        shadePixel(x,
+                                   y,
+                                   upperCornerSectors[i],
+                                   upperCornerSectors[i + 1],
+                                   lowerCornerSectors[i],
+                                   lowerCornerSectors[i + 1]);
+            }
+
+            int[] tmp = upperCornerSectors;
+            upperCornerSectors = lowerCornerSectors;
+            lowerCornerSectors = tmp;
+        }
+    }
+
+    private void computeCornerSectors(int y, int x0, int x1, int[] sectors) {
+        if (numberOfSectors == 0) {
+            return;
+        }
+
+        for (int x = x0; x <= x1; x++) {
+            sectors[x - x0] = findSector(getChartAngle(x, y));
+        }
+    }
+
+    private int shadePixel(int x,
+                           int y,
+                           int sector1,
+                           int sector2,
+                           int sector3,
+                           int sector4) {
+        double center = dimension / 2.0;
+        double nearestDx = Math.max(x, Math.min(center, x + 1.0)) - center;
+        double nearestDy = Math.max(y, Math.min(center, y + 1.0)) - center;
+        double minimumDistance = Math.sqrt(nearestDx * nearestDx
+                                         + nearestDy * nearestDy);
+
+        if (minimumDistance >= center) {
+            return boxArgb;
+        }
+
+        double farthestDx = Math.max(Math.abs(x - center),
+                                     Math.abs(x + 1.0 - center));
+        double farthestDy = Math.max(Math.abs(y - center),
+                                     Math.abs(y + 1.0 - center));
+        double maximumDistance = Math.sqrt(farthestDx * farthestDx
+                                         + farthestDy * farthestDy);
+
+        if (numberOfSectors == 0) {
+            return maximumDistance <= center ?
+                   chartBackgroundArgb :
+                   supersample(x, y);
+        }
+
+        if (sector1 == sector2
+                && sector1 == sector3
+                && sector1 == sector4
+                && minimumDistance >= CENTER_SUPERSAMPLING_RADIUS
+                && maximumDistance <= center) {
+            double radius = radii[sector1];
+
+            if (maximumDistance <= radius) {
+                return sectorArgbs[sector1];
+            }
+
+            if (minimumDistance >= radius) {
+                return chartBackgroundArgb;
+            }
+        }
+
+        return supersample(x, y);
+    }
+
+    private int supersample(int x, int y) {
+        int samples = antiAliasingSamples;
+        int a = 0;
+        int r = 0;
+        int g = 0;
+        int b = 0;
+
+        for (int j = 0; j < samples; j++) {
+            double sampleY = y + (j + 0.5) / samples;
+
+            for (int i = 0; i < samples; i++) {
+                double sampleX = x + (i + 0.5) / samples;
+                int argb = shadePoint(sampleX, sampleY);
+
+                a += argb >>> 24;
+                r += (argb >>> 16) & 0xff;
+                g += (argb >>> 8)  & 0xff;
+                b += argb          & 0xff;
+            }
+        }
+
+        int numberOfSamples = samples * samples;
+        int half = numberOfSamples / 2;
+
+        return ((a + half) / numberOfSamples) << 24
+             | ((r + half) / numberOfSamples) << 16
+             | ((g + half) / numberOfSamples) << 8
+             | ((b + half) / numberOfSamples);
+    }
+
+    private int shadePoint(double x, double y) {
+        double center = dimension / 2.0;
+        double dx = x - center;
+        double dy = y - center;
+        double distance = Math.sqrt(dx * dx + dy * dy);
+
+        if (distance > center) {
+            return boxArgb;
+        }
+
+        if (numberOfSectors == 0) {
+            return chartBackgroundArgb;
+        }
+
+        int sector = findSector(getChartAngle(x, y));
+
+        return distance <= radii[sector] ?
+               sectorArgbs[sector] :
+               chartBackgroundArgb;
+    }
+
+    /**
+     * Returns the clockwise angle in degrees from the beginning of the chart
+     * to the point {@code (x, y)}. The result is within {@code [0, 360)}.
+     */
+    private double getChartAngle(double x, double y) {
+        double center = dimension / 2.0;
+        double angle = 90.0 - angleOffset
+                            - Math.toDegrees(Math.atan2(center - y,
+                                                        x - center));
+        angle %= 360.0;
+        return angle < 0.0 ? angle + 360.0 : angle;
+    }
+
+    /**
+     * Returns the index of the sector containing the chart angle
+     * {@code angle}. The sectors with zero angle are never returned.
+     */
+    private int findSector(double angle) {
+        int low  = 0;
+        int high = numberOfSectors - 1;
+
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+
+            if (startAngles[middle] <= angle) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return low;
+    }
+
+    void checkTarget(int length, int offset, int scanlineStride) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("The offset is negative.");
+        }
+
+        if (scanlineStride < dimension) {
+            throw new IllegalArgumentException(
+                    "The scanline stride is smaller than the dimension.");
+        }
+
+        if ((long) offset
+                + (long) (dimension - 1) * scanlineStride
+                + dimension > length) {
+            throw new IllegalArgumentException(
+                    "The pixel array is too small.");
+        }
+    }
+
+    private static int toArgb(Color color) {
+        return toChannel(color.getOpacity()) << 24
+             | toChannel(color.getRed())     << 16
+             | toChannel(color.getGreen())   << 8
+             | toChannel(color.getBlue());
+    }
+
+    private static int toChannel(double value) {
+        return (int) Math.round(value * 255.0);
+    }
+
+    /**
+     * Returns the result of painting {@code source} over
+     * {@code destination}.
+     */
+    private static Color composite(Color source, Color destination) {
+        double sourceAlpha = source.getOpacity();
+        double destinationAlpha = destination.getOpacity()
+                                * (1.0 - sourceAlpha);
+        double alpha = sourceAlpha + destinationAlpha;
+
+        if (alpha == 0.0) {
+            return Color.TRANSPARENT;
+        }
+
+        return new Color(
+                clamp((source.getRed() * sourceAlpha
+                        + destination.getRed() * destinationAlpha) / alpha),
+                clamp((source.getGreen() * sourceAlpha
+                        + destination.getGreen() * destinationAlpha) / alpha),
+                clamp((source.getBlue() * sourceAlpha
+                        + destination.getBlue() * destinationAlpha) / alpha),
+                clamp(alpha));
+    }
+    
+    private static double clamp(double value) {
+        return Math.max(0.0, Math.min(1.0, value));
+    }
+}
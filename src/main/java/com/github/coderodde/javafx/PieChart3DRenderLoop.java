@@ -0,0 +1,127 @@
+package com.github.coderodde.javafx;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+/**
+ * This class implements the render loop shared by the pie chart renderers.
+ * {@link #requestDraw()} may be called from any thread; all the requests
+ * made between two pulses are coalesced into a single draw on the JavaFX
+ * application thread, optionally capped by
+ * {@link #setMaximumFrameRate(double)}. The loop runs on an
+ * {@link AnimationTimer} that stops itself once a frame passes without
+ * requests, so an idle renderer costs nothing per pulse.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+final class PieChart3DRenderLoop {
+
+    /**
+     * Draws the renderer.
+     */
+    private final Runnable drawer;
+
+    /**
+     * Set by {@link #requestDraw()} and cleared by the frame that draws.
+     */
+    private final AtomicBoolean drawRequested = new AtomicBoolean();
+
+    /**
+     * Indicates whether {@link #renderTimer} runs or is about to start.
+     */
+    private final AtomicBoolean renderTimerActive = new AtomicBoolean();
+
+    /**
+     * Draws the requested frames. Stops itself once a frame passes without
+     * requests.
+     */
+    private final AnimationTimer renderTimer = new AnimationTimer() {
+
+        @Override
+        public void handle(long now) {
+            handleFrame(now);
+        }
+    };
+
+    /**
+     * The minimum time between two scheduled draws in nanoseconds, or zero
+     * if the frame rate is not capped.
+     */
+    private volatile long minimumFrameIntervalNanos;
+
+    /**
+     * The time stamp of the last scheduled draw in nanoseconds.
+     */
+    private long lastFrameNanos;
+
+    PieChart3DRenderLoop(Runnable drawer) {
+        this.drawer = Objects.requireNonNull(drawer, "The drawer is null.");
+    }
+
+    /**
+     * Requests a draw on the JavaFX application thread. May be called from
+     * any thread.
+     */
+    void requestDraw() {
+        drawRequested.set(true);
+
+        if (!renderTimerActive.getAndSet(true)) {
+            if (Platform.isFxApplicationThread()) {
+                renderTimer.start();
+            } else {
+                Platform.runLater(renderTimer::start);
+            }
+        }
+    }
+
+    double getMaximumFrameRate() {
+        long interval = minimumFrameIntervalNanos;
+        return interval == 0L ? 0.0 : 1_000_000_000.0 / interval;
+    }
+
+    /**
+     * Caps the rate of the draws. The requests arriving faster are coalesced
+     * into the next allowed frame.
+     *
+     * @param maximumFrameRate the maximum number of draws per second, or
+     *                         zero for drawing on every pulse.
+     */
+    void setMaximumFrameRate(double maximumFrameRate) {
+        if (Double.isNaN(maximumFrameRate) || maximumFrameRate < 0.0) {
+            throw new IllegalArgumentException(
+                    "The maximum frame rate is invalid: "
+                            + maximumFrameRate
+                            + ".");
+        }
+
+        minimumFrameIntervalNanos =
+                maximumFrameRate == 0.0 ?
+                0L :
+                (long) (1_000_000_000.0 / maximumFrameRate);
+    }
+
+    private void handleFrame(long now) {
+        if (now - lastFrameNanos < minimumFrameIntervalNanos) {
+            // Too early; keep the request for a later frame:
+            return;
+        }
+
+        if (drawRequested.getAndSet(false)) {
+            lastFrameNanos = now;
+            drawer.run();
+            return;
+        }
+
+        // Idle frame: stop, unless a request slipped in after the check.
+        renderTimer.stop();
+        renderTimerActive.set(false);
+
+        if (drawRequested.get() && !renderTimerActive.getAndSet(true)) {
+            renderTimer.start();
+        }
+    }
+}
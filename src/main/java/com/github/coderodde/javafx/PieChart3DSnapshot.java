@@ -0,0 +1,523 @@
+package com.github.coderodde.javafx;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import javafx.scene.paint.Color;
+
+/**
+ * This class implements a memory-mapped binary snapshot of a pie chart. The
+ * file starts with a fixed-size header holding the sector count, the chunk
+ * capacity, the chart colors and the angle offset. The header is followed by
+ * chunks of {@code chunkCapacity} sectors each. A chunk stores the radius,
+ * the angle and the color intensity values of its sectors in three
+ * consecutive columns of little-endian doubles.
+ * <p>
+ * Appending sectors writes into the last chunk, or maps a new chunk at the end
+ * of the file, and then updates the sector count in the header; the existing
+ * chunks are never rewritten. The sectors are read straight from the mapped
+ * chunks without creating per-sector objects, either one by one or in bulk
+ * into a {@link PieChart3DData}.
+ * <p>
+ * Instances of this class are not thread-safe.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class PieChart3DSnapshot implements AutoCloseable {
+
+    /**
+     * The default number of sectors per chunk.
+     */
+    public static final int DEFAULT_CHUNK_CAPACITY = 65_536;
+
+    /**
+     * The bytes {@code "PC3D"}.
+     */
+    private static final int MAGIC = 0x50433344;
+
+    private static final int FORMAT_VERSION = 1;
+
+    // The header layout:
+    private static final int MAGIC_OFFSET                    = 0;
+    private static final int VERSION_OFFSET                  = 4;
+    private static final int SIZE_OFFSET                     = 8;
+    private static final int CHUNK_CAPACITY_OFFSET           = 16;
+    private static final int BOX_COLOR_OFFSET                = 24;
+    private static final int CHART_BACKGROUND_COLOR_OFFSET   = 56;
+    private static final int ORIGINAL_INTENSITY_COLOR_OFFSET = 88;
+    private static final int ANGLE_OFFSET_OFFSET             = 120;
+    private static final int HEADER_SIZE                     = 128;
+
+    private static final int NUMBER_OF_COLUMNS = 3;
+
+
+    /**
+     * The maximum chunk capacity keeping a chunk within a single mapping.
+     */
+    private static final int MAXIMUM_CHUNK_CAPACITY =
+            Integer.MAX_VALUE / (NUMBER_OF_COLUMNS * Double.BYTES);
+
+    private final FileChannel channel;
+    private final boolean readOnly;
+    private final MappedByteBuffer header;
+    private final int chunkCapacity;
+
+    /**
+     * The mapped chunks; {@code null} until first used.
+     */
+    private final List<MappedByteBuffer> mappedChunks = new ArrayList<>();
+
+    /**
+     * The double views of {@link #mappedChunks}.
+     */
+    private final List<DoubleBuffer> chunks = new ArrayList<>();
+
+    /**
+     * The number of sectors in this snapshot.
+     */
+    private long size;
+
+    private PieChart3DSnapshot(FileChannel channel,
+                               boolean readOnly,
+                               int chunkCapacity) throws IOException {
+        this.channel       = channel;
+        this.readOnly      = readOnly;
+        this.chunkCapacity = chunkCapacity;
+        this.header        = channel.map(readOnly ?
+                                         MapMode.READ_ONLY :
+                                         MapMode.READ_WRITE,
+                                         0L,
+                                         HEADER_SIZE);
+
+        header.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Creates a new empty snapshot file, replacing any existing one. The
+     * chart settings are initialized to the defaults of {@link PieChart3D}.
+     *
+     * @param path          the path of the file.
+     * @param chunkCapacity the number of sectors per chunk.
+     * @return the snapshot open for reading and appending.
+     * @throws IOException if creating the file fails.
+     */
+    public static PieChart3DSnapshot create(Path path, int chunkCapacity)
+            throws IOException {
+        Objects.requireNonNull(path, "The path is null.");
+        checkChunkCapacity(chunkCapacity);
+
+        FileChannel channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+
+        try {
+            PieChart3DSnapshot snapshot =
+                    new PieChart3DSnapshot(channel, false, chunkCapacity);
+
+            snapshot.header.putInt(MAGIC_OFFSET, MAGIC);
+            snapshot.header.putInt(VERSION_OFFSET, FORMAT_VERSION);
+            snapshot.header.putLong(SIZE_OFFSET, 0L);
+            snapshot.header.putInt(CHUNK_CAPACITY_OFFSET, chunkCapacity);
+            snapshot.putColor(BOX_COLOR_OFFSET,
+                              PieChart3DColors.DEFAULT_BOX_COLOR);
+            snapshot.putColor(CHART_BACKGROUND_COLOR_OFFSET,
+                              PieChart3DColors.DEFAULT_CHART_BACKGROUND_COLOR);
+            snapshot.putColor(
+                    ORIGINAL_INTENSITY_COLOR_OFFSET,
+                    PieChart3DColors.DEFAULT_ORIGINAL_INTENSITY_COLOR);
+            return snapshot;
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Opens an existing snapshot file for reading and appending.
+     *
+     * @param path the path of the file.
+     * @return the snapshot.
+     * @throws IOException if the file cannot be opened or is not a valid
+     *                     snapshot.
+     */
+    public static PieChart3DSnapshot open(Path path) throws IOException {
+        return open(path, false);
+    }
+
+    /**
+     * Opens an existing snapshot file for reading only.
+     *
+     * @param path the path of the file.
+     * @return the snapshot.
+     * @throws IOException if the file cannot be opened or is not a valid
+     *                     snapshot.
+     */
+    public static PieChart3DSnapshot openReadOnly(Path path)
+            throws IOException {
+        return open(path, true);
+    }
+
+    /**
+     * Writes the settings and the data of {@code chart} to a new snapshot
+     * file.
+     *
+     * @param path  the path of the file.
+     * @param chart the chart to save.
+     * @throws IOException if writing fails.
+     */
+    public static void write(Path path, PieChart3D chart) throws IOException {
+        Objects.requireNonNull(chart, "The chart is null.");
+
+        try (PieChart3DSnapshot snapshot =
+                create(path, DEFAULT_CHUNK_CAPACITY)) {
+            snapshot.copySettingsFrom(chart);
+            snapshot.append(chart.getData());
+        }
+    }
+
+    /**
+     * Reads a snapshot file into {@code chart}, replacing its settings and
+     * its data.
+     *
+     * @param path  the path of the file.
+     * @param chart the target chart.
+     * @throws IOException if reading fails.
+     */
+    public static void read(Path path, PieChart3D chart) throws IOException {
+        Objects.requireNonNull(chart, "The chart is null.");
+
+        try (PieChart3DSnapshot snapshot = openReadOnly(path)) {
+            snapshot.applySettingsTo(chart);
+            PieChart3DData data = chart.getData();
+            data.clear();
+            snapshot.loadInto(data);
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public int getChunkCapacity() {
+        return chunkCapacity;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    public Color getBoxBackgroundColor() {
+        return getColor(BOX_COLOR_OFFSET);
+    }
+
+    public Color getChartBackgroundColor() {
+        return getColor(CHART_BACKGROUND_COLOR_OFFSET);
+    }
+
+    public Color getOriginalIntensityColor() {
+        return getColor(ORIGINAL_INTENSITY_COLOR_OFFSET);
+    }
+
+    public double getAngleOffset() {
+        return header.getDouble(ANGLE_OFFSET_OFFSET);
+    }
+
+    /**
+     * Stores the colors and the angle offset of {@code chart} in the header.
+     *
+     * @param chart the chart whose settings to store.
+     */
+    public void copySettingsFrom(PieChart3D chart) {
+        Objects.requireNonNull(chart, "The chart is null.");
+        checkWritable();
+
+        putColor(BOX_COLOR_OFFSET, chart.getBoxBackgroundColor());
+        putColor(CHART_BACKGROUND_COLOR_OFFSET,
+                 chart.getChartBackgroundColor());
+        putColor(ORIGINAL_INTENSITY_COLOR_OFFSET,
+                 chart.getOriginalIntensityColor());
+        header.putDouble(ANGLE_OFFSET_OFFSET, chart.getAngleOffset());
+    }
+
+    /**
+     * Sets the colors and the angle offset of {@code chart} to the ones
+     * stored in the header.
+     *
+     * @param chart the chart to configure.
+     */
+    public void applySettingsTo(PieChart3D chart) {
+        Objects.requireNonNull(chart, "The chart is null.");
+        chart.setBoxBackgroundColor(getBoxBackgroundColor());
+        chart.setChartBackgroundColor(getChartBackgroundColor());
+        chart.setOriginalIntensityColor(getOriginalIntensityColor());
+        chart.setAngleOffset(getAngleOffset());
+    }
+
+    public double getSectorRadiusValue(long index) {
+        return getValue(index, 0);
+    }
+
+    public double getSectorAngleValue(long index) {
+        return getValue(index, 1);
+    }
+
+    public double getSectorColorIntensityValue(long index) {
+        return getValue(index, 2);
+    }
+
+    /**
+     * Appends all the sectors of {@code data}.
+     *
+     * @param data the data to append.
+     * @throws IOException if mapping a new chunk fails.
+     */
+    public void append(PieChart3DData data) throws IOException {
+        append(data, 0, data.size());
+    }
+
+    /**
+     * Appends the sectors {@code fromIndex} (inclusive) through
+     * {@code toIndex} (exclusive) of {@code data}. The sector count in the
+     * header is updated after the values are written.
+     *
+     * @param data      the data to append.
+     * @param fromIndex the index of the first appended sector.
+     * @param toIndex   one past the index of the last appended sector.
+     * @throws IOException if mapping a new chunk fails.
+     */
+    public void append(PieChart3DData data, int fromIndex, int toIndex)
+            throws IOException {
+        Objects.requireNonNull(data, "The data is null.");
+        Objects.checkFromToIndex(fromIndex, toIndex, data.size());
+        checkWritable();
+
+        double[] radii = data.sectorRadiusValues();
+        double[] angles = data.sectorAngleValues();
+        double[] intensities = data.sectorColorIntensityValues();
+        int index = fromIndex;
+
+        while (index < toIndex) {
+            int chunkIndex = (int) (size / chunkCapacity);
+            int position = (int) (size % chunkCapacity);
+            int length = Math.min(toIndex - index, chunkCapacity - position);
+            DoubleBuffer chunk = getChunk(chunkIndex);
+
+            chunk.put(position, radii, index, length);
+            chunk.put(chunkCapacity + position, angles, index, length);
+            chunk.put(2 * chunkCapacity + position,
+                      intensities,
+                      index,
+                      length);
+
+            index += length;
+            size += length;
+        }
+
+        header.putLong(SIZE_OFFSET, size);
+    }
+
+    /**
+     * Appends all the sectors of this snapshot to {@code data}, chunk by
+     * chunk. The values are copied once, straight from the mapped chunks
+     * into the arrays of {@code data}; no per-sector objects are created.
+     *
+     * @param data the target data.
+     * @throws IOException if mapping a chunk fails.
+     */
+    public void loadInto(PieChart3DData data) throws IOException {
+        Objects.requireNonNull(data, "The data is null.");
+
+        if (data.size() + size > Integer.MAX_VALUE) {
+            throw new IllegalStateException(
+                    "The snapshot is too large to load: " + size + ".");
+        }
+
+        data.ensureCapacity(data.size() + (int) size);
+
+        int numberOfChunks = (int) ((size + chunkCapacity - 1) / chunkCapacity);
+
+        for (int chunkIndex = 0; chunkIndex < numberOfChunks; chunkIndex++) {
+            int length = (int) Math.min(chunkCapacity,
+                                        size - (long) chunkIndex
+                                                    * chunkCapacity);
+            DoubleBuffer chunk = getChunk(chunkIndex);
+
+            data.append(chunk.slice(0, length),
+                        chunk.slice(chunkCapacity, length),
+                        chunk.slice(2 * chunkCapacity, length),
+                        length);
+        }
+    }
+
+    /**
+     * Forces the changes to the storage device. The chunks are forced before
+     * the header, so that a durable size never counts sectors that did not
+     * reach the device.
+     */
+    public void force() {
+        if (readOnly) {
+            return;
+        }
+
+        for (MappedByteBuffer mappedChunk : mappedChunks) {
+            if (mappedChunk != null) {
+                mappedChunk.force();
+            }
+        }
+
+        header.force();
+    }
+
+    /**
+     * Forces the changes to the storage device as {@link #force()} does and
+     * closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            force();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private static PieChart3DSnapshot open(Path path, boolean readOnly)
+            throws IOException {
+        Objects.requireNonNull(path, "The path is null.");
+
+        FileChannel channel = readOnly ?
+                FileChannel.open(path, StandardOpenOption.READ) :
+                FileChannel.open(path,
+                                 StandardOpenOption.READ,
+                                 StandardOpenOption.WRITE);
+
+        try {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Not a pie chart snapshot: " + path);
+            }
+
+            ByteBuffer headerBytes = ByteBuffer.allocate(HEADER_SIZE)
+                                               .order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(headerBytes, 0L);
+
+            if (headerBytes.getInt(MAGIC_OFFSET) != MAGIC) {
+                throw new IOException("Not a pie chart snapshot: " + path);
+            }
+
+            int version = headerBytes.getInt(VERSION_OFFSET);
+
+            if (version != FORMAT_VERSION) {
+                throw new IOException(
+                        "Unsupported snapshot version: " + version + ".");
+            }
+
+            int chunkCapacity = headerBytes.getInt(CHUNK_CAPACITY_OFFSET);
+            long size = headerBytes.getLong(SIZE_OFFSET);
+
+            if (chunkCapacity <= 0
+                    || chunkCapacity > MAXIMUM_CHUNK_CAPACITY
+                    || size < 0L
+                    || channel.size() < HEADER_SIZE
+                            + chunkBytes(chunkCapacity)
+                            * ((size + chunkCapacity - 1) / chunkCapacity)) {
+                throw new IOException("Corrupted snapshot: " + path);
+            }
+
+            PieChart3DSnapshot snapshot =
+                    new PieChart3DSnapshot(channel, readOnly, chunkCapacity);
+
+            snapshot.size = size;
+            return snapshot;
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    private double getValue(long index, int column) {
+        Objects.checkIndex(index, size);
+        DoubleBuffer chunk;
+
+        try {
+            chunk = getChunk((int) (index / chunkCapacity));
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+
+        return chunk.get(column * chunkCapacity
+                                + (int) (index % chunkCapacity));
+    }
+
+    private DoubleBuffer getChunk(int chunkIndex) throws IOException {
+        while (chunks.size() <= chunkIndex) {
+            mappedChunks.add(null);
+            chunks.add(null);
+        }
+
+        DoubleBuffer chunk = chunks.get(chunkIndex);
+
+        if (chunk == null) {
+            long chunkBytes = chunkBytes(chunkCapacity);
+
+            // Mapping past the end of a writable file extends the file:
+            MappedByteBuffer mappedChunk = 
+                    channel.map(readOnly ? MapMode.READ_ONLY :
+                                           MapMode.READ_WRITE,
+                                HEADER_SIZE + chunkIndex * chunkBytes,
+                                chunkBytes);
+
+            chunk = mappedChunk.order(ByteOrder.LITTLE_ENDIAN)
+                               .asDoubleBuffer();
+
+            mappedChunks.set(chunkIndex, mappedChunk);
+            chunks.set(chunkIndex, chunk);
+        }
+
+        return chunk;
+    }
+
+    private Color getColor(int offset) {
+        return new Color(header.getDouble(offset),
+                         header.getDouble(offset + Double.BYTES),
+                         header.getDouble(offset + 2 * Double.BYTES),
+                         header.getDouble(offset + 3 * Double.BYTES));
+    }
+
+    private void putColor(int offset, Color color) {
+        header.putDouble(offset, color.getRed());
+        header.putDouble(offset + Double.BYTES, color.getGreen());
+        header.putDouble(offset + 2 * Double.BYTES, color.getBlue());
+        header.putDouble(offset + 3 * Double.BYTES, color.getOpacity());
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new IllegalStateException("The snapshot is read-only.");
+        }
+    }
+
+    private static long chunkBytes(int chunkCapacity) {
+        return (long) NUMBER_OF_COLUMNS * Double.BYTES * chunkCapacity;
+    }
+
+    private static void checkChunkCapacity(int chunkCapacity) {
+        if (chunkCapacity <= 0 || chunkCapacity > MAXIMUM_CHUNK_CAPACITY) {
+            throw new IllegalArgumentException(
+                    "Invalid chunk capacity: " + chunkCapacity + ".");
+        }
+    }
+}
@@ -0,0 +1,512 @@
+package com.github.coderodde.javafx;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+/**
+ * This class renders a tree of {@link PieChart3DNode}s as a sunburst: the
+ * focus node is a disc in the center, and each following level of its
+ * descendants is a concentric ring. Within a ring, each node spans the part
+ * of its parent's span proportional to its angle subtotal, and reaches out
+ * from the inner edge of the ring in proportion to its radius value relative
+ * to the largest radius value in the ring. The colors follow the color
+ * intensity values just like in {@link PieChart3D}.
+ * <p>
+ * Only the focus node and {@link #getVisibleDepth()} levels below it are
+ * materialized. The children of the shown nodes are loaded on demand from
+ * the {@link PieChart3DNodeProvider}, and the children of the nodes in the
+ * outermost ring are unloaded, so the memory and the layout time depend on
+ * what is on screen. {@link #drillDown(PieChart3DNode)} and
+ * {@link #drillUp()} move the focus.
+ * <p>
+ * The layout is recomputed only when the tree, the focus or the settings
+ * change; a {@link #draw()} returns immediately otherwise.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class PieChart3DSunburst extends Canvas {
+
+    /**
+     * The default number of the rings around the focus node.
+     */
+    public static final int DEFAULT_VISIBLE_DEPTH = 3;
+
+    private final PieChart3DNode root;
+    private final PieChart3DNodeProvider provider;
+
+    private PieChart3DNode focus;
+    private int visibleDepth = DEFAULT_VISIBLE_DEPTH;
+
+    private final PieChart3DColors colors = new PieChart3DColors();
+    private double angleOffset;
+
+    /**
+     * Counts the modifications of the focus and the settings.
+     */
+    private long generation;
+
+    // The state at the time of the last draw:
+    private long drawnGeneration = -1L;
+    private long drawnModificationCount = -1L;
+
+    // The state at the time of the last layout:
+    private long laidOutGeneration = -1L;
+    private long laidOutModificationCount = -1L;
+
+    // The shown nodes in the depth-first order along with their geometry. The
+    // angles are chart angles relative to the zero angle offset.
+    private PieChart3DNode[] nodes = new PieChart3DNode[0];
+    private int[] depths = new int[0];
+    private double[] startAngles = new double[0];
+    private double[] sweepAngles = new double[0];
+    private double[] outerRadii = new double[0];
+    private Color[] nodeColors = new Color[0];
+    private int numberOfNodes;
+
+    /**
+     * The {@code d}th element holds the largest radius value among the shown
+     * nodes at the depth {@code d} relative to the focus.
+     */
+    private double[] maximumRadiusValues = new double[0];
+
+    /**
+     * Schedules the draws requested by {@link #requestDraw()}.
+     */
+    private final PieChart3DRenderLoop renderLoop =
+            new PieChart3DRenderLoop(this::draw);
+
+    /**
+     * Constructs a sunburst of the tree rooted at {@code root}.
+     *
+     * @param dimension the width and the height of the chart.
+     * @param root      the root of the tree, which is focused first.
+     * @param provider  the provider of the children not loaded yet.
+     */
+    public PieChart3DSunburst(double dimension,
+                              PieChart3DNode root,
+                              PieChart3DNodeProvider provider) {
+        PieChart3DLayout.checkDimension(dimension);
+
+        this.root     = Objects.requireNonNull(root, "The root is null.");
+        this.provider = Objects.requireNonNull(provider,
+                                               "The provider is null.");
+
+        if (root.getParent() != null) {
+            throw new IllegalArgumentException("The root has a parent.");
+        }
+
+        this.focus = root;
+        super.setWidth(dimension);
+        super.setHeight(dimension);
+
+        widthProperty().addListener(observable -> generation++);
+        heightProperty().addListener(observable -> generation++);
+    }
+
+    public PieChart3DNode getRoot() {
+        return root;
+    }
+
+    public PieChart3DNode getFocus() {
+        return focus;
+    }
+
+    /**
+     * Focuses {@code node}, which must belong to the tree of this chart.
+     *
+     * @param node the node to focus.
+     */
+    public void drillDown(PieChart3DNode node) {
+        Objects.requireNonNull(node, "The node is null.");
+
+        if (node.getRoot() != root) {
+            throw new IllegalArgumentException(
+                    "The node does not belong to the tree.");
+        }
+
+        focus = node;
+        generation++;
+    }
+
+    /**
+     * Focuses the parent of the focus node unless the root is focused.
+     *
+     * @return {@code true} if the focus moved.
+     */
+    public boolean drillUp() {
+        if (focus.getParent() == null) {
+            return false;
+        }
+
+        focus = focus.getParent();
+        generation++;
+        return true;
+    }
+
+    public int getVisibleDepth() {
+        return visibleDepth;
+    }
+
+    /**
+     * Sets the number of the rings shown around the focus node.
+     *
+     * @param visibleDepth the number of the rings.
+     */
+    public void setVisibleDepth(int visibleDepth) {
+        if (visibleDepth < 0) {
+            throw new IllegalArgumentException(
+                    "The visible depth is negative.");
+        }
+
+        this.visibleDepth = visibleDepth;
+        generation++;
+    }
+
+    public Color getBoxBackgroundColor() {
+        return colors.getBoxColor();
+    }
+
+    public Color getChartBackgroundColor() {
+        return colors.getChartBackgroundColor();
+    }
+
+    public Color getOriginalIntensityColor() {
+        return colors.getOriginalIntensityColor();
+    }
+
+    public double getAngleOffset() {
+        return angleOffset;
+    }
+
+    public void setBoxBackgroundColor(Color boxColor) {
+        colors.setBoxColor(boxColor);
+        generation++;
+    }
+
+    public void setChartBackgroundColor(Color chartBackgroundColor) {
+        colors.setChartBackgroundColor(chartBackgroundColor);
+        generation++;
+    }
+
+    public void setOriginalIntensityColor(Color originalIntensityColor) {
+        colors.setOriginalIntensityColor(originalIntensityColor);
+        generation++;
+    }
+
+    public int getColorPaletteSize() {
+        return colors.getColorPaletteSize();
+    }
+
+    /**
+     * Enables or disables the quantized intensity palette. See
+     * {@link PieChart3D#setColorPaletteSize(int)}.
+     *
+     * @param numberOfLevels the number of palette levels, or zero.
+     */
+    public void setColorPaletteSize(int numberOfLevels) {
+        colors.setColorPaletteSize(numberOfLevels);
+        generation++;
+    }
+
+    public void setAngleOffset(double angleOffset) {
+        this.angleOffset = PieChart3DLayout.normalizeAngleOffset(angleOffset);
+        generation++;
+    }
+
+    /**
+     * Returns the number of the nodes materialized by the last layout.
+     *
+     * @return the number of the shown nodes.
+     */
+    public int getNumberOfShownNodes() {
+        return numberOfNodes;
+    }
+
+    /**
+     * Returns the shown node under the point {@code (x, y)} given in the
+     * local coordinates of this chart. Descends from the focus node, so runs
+     * in time proportional to the number of the children along the path.
+     *
+     * @param x the {@code x}-coordinate of the point.
+     * @param y the {@code y}-coordinate of the point.
+     * @return the node under the point, or {@code null} if there is none.
+     */
+    public PieChart3DNode nodeAt(double x, double y) {
+        validateLayout();
+
+        double center = getHeight() / 2.0;
+        double ringWidth = getRingWidth();
+        double distance = Math.hypot(x - center, y - center);
+        int depth = (int) (distance / ringWidth);
+
+        if (depth > visibleDepth || numberOfNodes == 0) {
+            return null;
+        }
+
+        double angle =
+                PieChart3DLayout.getChartAngle(x, y, center, angleOffset);
+        PieChart3DNode node = focus;
+        double startAngle = 0.0;
+        double sweepAngle = 360.0;
+
+        for (int d = 1; d <= depth; d++) {
+            List<PieChart3DNode> children = node.getChildren();
+            double total = node.getAngleSubtotal();
+            PieChart3DNode next = null;
+
+            if (total == 0.0) {
+                return null;
+            }
+
+            for (PieChart3DNode child : children) {
+                double childSweepAngle =
+                        sweepAngle * child.getAngleSubtotal() / total;
+
+                if (angle < startAngle + childSweepAngle) {
+                    next = child;
+                    sweepAngle = childSweepAngle;
+                    break;
+                }
+
+                startAngle += childSweepAngle;
+            }
+
+            if (next == null) {
+                return null;
+            }
+
+            node = next;
+        }
+
+        return distance <= getOuterRadius(node.getRadiusValue(), depth) ?
+               node :
+               null;
+    }
+
+    /**
+     * Lays the shown nodes out and draws them unless nothing has changed
+     * since the previous call. Must be called on the JavaFX application
+     * thread.
+     */
+    public void draw() {
+        if (drawnGeneration == generation
+                && drawnModificationCount == root.getModificationCount()) {
+            return;
+        }
+
+        validateLayout();
+
+        GraphicsContext gc = getGraphicsContext2D();
+        double width  = getWidth();
+        double height = getHeight();
+        double center = height / 2.0;
+        double ringWidth = getRingWidth();
+
+        gc.setFill(colors.getBoxColor());
+        gc.fillRect(0.0, 0.0, width, height);
+        gc.setFill(colors.getChartBackgroundColor());
+        gc.fillOval(0.0, 0.0, height, height);
+
+        for (int i = 0; i < numberOfNodes; i++) {
+            double outerRadius = outerRadii[i];
+            gc.setFill(nodeColors[i]);
+
+            if (depths[i] == 0) {
+                gc.fillOval(center - outerRadius,
+                            center - outerRadius,
+                            2.0 * outerRadius,
+                            2.0 * outerRadius);
+                continue;
+            }
+
+            double innerRadius = depths[i] * ringWidth;
+            double startAngle =
+                    90.0 - angleOffset - startAngles[i] - sweepAngles[i];
+
+            gc.beginPath();
+            gc.arc(center,
+                   center,
+                   outerRadius,
+                   outerRadius,
+                   startAngle,
+                   sweepAngles[i]);
+            gc.arc(center,
+                   center,
+                   innerRadius,
+                   innerRadius,
+                   startAngle + sweepAngles[i],
+                   -sweepAngles[i]);
+            gc.closePath();
+            gc.fill();
+        }
+
+        drawnGeneration        = generation;
+        drawnModificationCount = root.getModificationCount();
+    }
+
+    /**
+     * Requests a {@link #draw()} on the JavaFX application thread. May be
+     * called from any thread; the requests made before the next frame are
+     * coalesced into a single draw. See {@link PieChart3D#requestDraw()}.
+     */
+    public void requestDraw() {
+        renderLoop.requestDraw();
+    }
+
+    public double getMaximumFrameRate() {
+        return renderLoop.getMaximumFrameRate();
+    }
+
+    /**
+     * Caps the rate of the draws scheduled by {@link #requestDraw()}. See
+     * {@link PieChart3D#setMaximumFrameRate(double)}.
+     *
+     * @param maximumFrameRate the maximum number of draws per second, or
+     *                         zero for drawing on every pulse.
+     */
+    public void setMaximumFrameRate(double maximumFrameRate) {
+        renderLoop.setMaximumFrameRate(maximumFrameRate);
+    }
+
+    /**
+     * Materializes and lays out the focus node and the visible levels below
+     * it unless the layout is up to date.
+     */
+    private void validateLayout() {
+        if (laidOutGeneration == generation
+                && laidOutModificationCount == root.getModificationCount()) {
+            return;
+        }
+
+        long modificationCount;
+
+        do {
+            // Loading children may change the subtotals of the nodes laid
+            // out already, in which case another pass is needed. The second
+            // pass loads nothing, so it is the last one:
+            modificationCount = root.getModificationCount();
+            layout();
+        } while (modificationCount != root.getModificationCount());
+
+        laidOutGeneration        = generation;
+        laidOutModificationCount = modificationCount;
+    }
+
+    private void layout() {
+        numberOfNodes = 0;
+
+        if (maximumRadiusValues.length < visibleDepth + 1) {
+            maximumRadiusValues = new double[visibleDepth + 1];
+        } else {
+            Arrays.fill(maximumRadiusValues, 0.0);
+        }
+
+        layoutNode(focus, 0, 0.0, 360.0);
+
+        Color originalIntensityColor = colors.getOriginalIntensityColor();
+        PieChart3DPalette palette = colors.getPalette();
+        double maximumColorIntensityValue = 0.0;
+
+        for (int i = 0; i < numberOfNodes; i++) {
+            PieChart3DNode node = nodes[i];
+            maximumColorIntensityValue =
+                    Math.max(maximumColorIntensityValue,
+                             node.getColorIntensityValue());
+        }
+
+        for (int i = 0; i < numberOfNodes; i++) {
+            PieChart3DNode node = nodes[i];
+            double intensity = maximumColorIntensityValue == 0.0 ?
+                               0.0 :
+                               node.getColorIntensityValue()
+                                    / maximumColorIntensityValue;
+
+            outerRadii[i] = getOuterRadius(node.getRadiusValue(), depths[i]);
+            nodeColors[i] = palette == null ?
+                            PieChart3DLayout.obtainColor(
+                                    originalIntensityColor,
+                                    intensity) :
+                            palette.getColor(intensity);
+        }
+    }
+
+    private void layoutNode(PieChart3DNode node,
+                            int depth,
+                            double startAngle,
+                            double sweepAngle) {
+        ensureCapacity(numberOfNodes + 1);
+
+        nodes      [numberOfNodes] = node;
+        depths     [numberOfNodes] = depth;
+        startAngles[numberOfNodes] = startAngle;
+        sweepAngles[numberOfNodes] = sweepAngle;
+        numberOfNodes++;
+
+        maximumRadiusValues[depth] = Math.max(maximumRadiusValues[depth],
+                                              node.getRadiusValue());
+
+        if (depth == visibleDepth) {
+            // Keep only what is shown:
+            node.unloadProvidedChildren();
+            return;
+        }
+
+        node.loadChildren(provider);
+        double total = node.getAngleSubtotal();
+
+        if (total == 0.0) {
+            return;
+        }
+
+        for (PieChart3DNode child : node.getChildren()) {
+            double childSweepAngle = sweepAngle * child.getAngleSubtotal()
+                                                / total;
+
+            layoutNode(child, depth + 1, startAngle, childSweepAngle);
+            startAngle += childSweepAngle;
+        }
+    }
+
+    /**
+     * Returns the outer radius of a shown node at the depth {@code depth}
+     * relative to the focus.
+     *
+     * @param radiusValue the radius value of the node.
+     * @param depth       the relative depth of the node.
+     * @return the outer radius in pixels.
+     */
+    private double getOuterRadius(double radiusValue, int depth) {
+        double ringWidth = getRingWidth();
+        double maximumRadiusValue = maximumRadiusValues[depth];
+        double fraction = maximumRadiusValue == 0.0 ?
+                          1.0 :
+                          radiusValue / maximumRadiusValue;
+
+        return depth * ringWidth + fraction * ringWidth;
+    }
+
+    private double getRingWidth() {
+        return getHeight() / 2.0 / (visibleDepth + 1);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (nodes.length >= capacity) {
+            return;
+        }
+
+        int nextCapacity = Math.max(capacity, 2 * nodes.length);
+
+        nodes       = Arrays.copyOf(nodes, nextCapacity);
+        depths      = Arrays.copyOf(depths, nextCapacity);
+        startAngles = Arrays.copyOf(startAngles, nextCapacity);
+        sweepAngles = Arrays.copyOf(sweepAngles, nextCapacity);
+        outerRadii  = Arrays.copyOf(outerRadii, nextCapacity);
+        nodeColors  = Arrays.copyOf(nodeColors, nextCapacity);
+    }
+}
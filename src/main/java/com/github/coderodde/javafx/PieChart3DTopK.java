@@ -0,0 +1,652 @@
+package com.github.coderodde.javafx;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class reduces a huge number of entries to the {@code K} entries with
+ * the largest angle values and a single synthetic "other" sector folding the
+ * rest. The reduced sectors are published into a {@link PieChart3DData}
+ * rendered by an ordinary {@link PieChart3D}, so the rendering and the
+ * hit-testing cost depends on {@code K} only, no matter how many entries
+ * there are.
+ * <p>
+ * The top entries are kept in an indexed min-heap keyed by the angle value,
+ * and the rest in {@link MaximumTree}s over copies of the values in which the
+ * top entries are masked out. Appending or setting an entry costs
+ * logarithmic time: the entry enters the heap if it beats the smallest top
+ * entry, and a top entry that shrinks below the largest remaining entry is
+ * swapped with it. Removing an entry from the middle shifts the indices, as
+ * it does in {@link PieChart3DData}, and costs linear time.
+ * <p>
+ * The angle of the "other" sector is the sum of the remaining angle values;
+ * its radius and color intensity are reduced from the remaining entries as
+ * set by {@link #setOtherRadiusReduction(SectorReduction)} and
+ * {@link #setOtherColorIntensityReduction(SectorReduction)}. The entries must
+ * be modified only through this class. This class is not thread-safe.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class PieChart3DTopK {
+
+    /**
+     * The maximum number of the top entries.
+     */
+    private final int k;
+
+    /**
+     * All the entries.
+     */
+    private final PieChart3DData source = new PieChart3DData();
+
+    private SectorReduction otherRadiusReduction = SectorReduction.MAXIMUM;
+    private SectorReduction otherColorIntensityReduction =
+            SectorReduction.MAXIMUM;
+
+    // The copies of the source values in which the top entries are replaced
+    // by the negative infinity, along with their maximum trees:
+    private double[] restRadiusValues    = new double[0];
+    private double[] restAngleValues     = new double[0];
+    private double[] restIntensityValues = new double[0];
+    private final MaximumTree restRadiusValueTree    = new MaximumTree();
+    private final MaximumTree restAngleValueTree     = new MaximumTree();
+    private final MaximumTree restIntensityValueTree = new MaximumTree();
+
+    /**
+     * The min-heap of the indices of the top entries keyed by their angle
+     * values.
+     */
+    private final int[] heap;
+    private int heapSize;
+
+    /**
+     * The {@code i}th element holds the position of the {@code i}th entry in
+     * {@link #heap}, or -1 if the entry is not a top entry.
+     */
+    private int[] heapPositions = new int[0];
+
+    // The sums of the values over the remaining entries, maintained as the
+    // entries enter and leave the rest:
+    private int numberOfRestEntries;
+    private final CompensatedSum restRadiusValueSum = new CompensatedSum();
+    private final CompensatedSum restAngleValueSum = new CompensatedSum();
+    private final CompensatedSum restColorIntensityValueSum =
+            new CompensatedSum();
+    private final CompensatedSum restWeightedRadiusValueSum =
+            new CompensatedSum();
+    private final CompensatedSum restWeightedColorIntensityValueSum =
+            new CompensatedSum();
+
+    // The sectors of the last publication:
+    private final int[] publishedSourceIndices;
+    private final double[] publishedRadiusValues;
+    private final double[] publishedAngleValues;
+    private final double[] publishedIntensityValues;
+    private int numberOfPublishedSectors;
+    private int numberOfPublishedTopSectors;
+
+    /**
+     * Constructs an empty reduction.
+     *
+     * @param k the maximum number of the top entries.
+     */
+    public PieChart3DTopK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException(
+                    "The number of the top entries is negative.");
+        }
+
+        this.k = k;
+        this.heap = new int[k];
+        this.publishedSourceIndices   = new int[k];
+        this.publishedRadiusValues    = new double[k + 1];
+        this.publishedAngleValues     = new double[k + 1];
+        this.publishedIntensityValues = new double[k + 1];
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public int size() {
+        return source.size();
+    }
+
+    /**
+     * Returns a detached copy of the {@code index}th entry. Modifying the
+     * returned entry does not affect this reduction; use
+     * {@link #set(int, PieChart3DEntry)} for that.
+     *
+     * @param index the index of the entry.
+     * @return a copy of the entry.
+     */
+    public PieChart3DEntry get(int index) {
+        Objects.checkIndex(index, source.size());
+
+        return new PieChart3DEntry()
+                .withSectorRadiusValue(source.getSectorRadiusValue(index))
+                .withSectorAngleValue(source.getSectorAngleValue(index))
+                .withSectorColorIntensityValue(
+                        source.getSectorColorIntensityValue(index));
+    }
+
+    public SectorReduction getOtherRadiusReduction() {
+        return otherRadiusReduction;
+    }
+
+    public SectorReduction getOtherColorIntensityReduction() {
+        return otherColorIntensityReduction;
+    }
+
+    public void setOtherRadiusReduction(SectorReduction otherRadiusReduction) {
+        this.otherRadiusReduction =
+                Objects.requireNonNull(
+                        otherRadiusReduction,
+                        "The other radius reduction is null.");
+    }
+
+    public void setOtherColorIntensityReduction(
+            SectorReduction otherColorIntensityReduction) {
+        this.otherColorIntensityReduction =
+                Objects.requireNonNull(
+                        otherColorIntensityReduction,
+                        "The other color intensity reduction is null.");
+    }
+
+    /**
+     * Returns {@code true} if the {@code index}th entry is among the top
+     * entries.
+     *
+     * @param index the index of the entry.
+     * @return {@code true} if the entry is a top entry.
+     */
+    public boolean isTopEntry(int index) {
+        Objects.checkIndex(index, source.size());
+        return heapPositions[index] != -1;
+    }
+
+    public void add(PieChart3DEntry entry) {
+        Objects.requireNonNull(entry, "The entry is null.");
+
+        add(entry.getSectorRadiusValue(),
+            entry.getSectorAngleValue(),
+            entry.getSectorColorIntensityValue());
+    }
+
+    /**
+     * Appends an entry in logarithmic time.
+     *
+     * @param sectorRadiusValue         the radius value.
+     * @param sectorAngleValue          the angle value.
+     * @param sectorColorIntensityValue the color intensity value.
+     */
+    public void add(double sectorRadiusValue,
+                    double sectorAngleValue,
+                    double sectorColorIntensityValue) {
+        int index = source.size();
+
+        source.add(sectorRadiusValue,
+                   sectorAngleValue,
+                   sectorColorIntensityValue);
+
+        ensureCapacity(index + 1);
+        heapPositions[index] = -1;
+        setRestValues(index,
+                      sectorRadiusValue,
+                      sectorAngleValue,
+                      sectorColorIntensityValue,
+                      index + 1);
+
+        addToRestSums(index, 1);
+        rebalance();
+    }
+
+    public void set(int index, PieChart3DEntry entry) {
+        Objects.requireNonNull(entry, "The entry is null.");
+
+        set(index,
+            entry.getSectorRadiusValue(),
+            entry.getSectorAngleValue(),
+            entry.getSectorColorIntensityValue());
+    }
+
+    /**
+     * Sets the values of the {@code index}th entry in logarithmic time.
+     *
+     * @param index                     the index of the entry.
+     * @param sectorRadiusValue         the radius value.
+     * @param sectorAngleValue          the angle value.
+     * @param sectorColorIntensityValue the color intensity value.
+     */
+    public void set(int index,
+                    double sectorRadiusValue,
+                    double sectorAngleValue,
+                    double sectorColorIntensityValue) {
+        Objects.checkIndex(index, source.size());
+
+        source.set(index,
+                   sectorRadiusValue,
+                   sectorAngleValue,
+                   sectorColorIntensityValue);
+
+        int position = heapPositions[index];
+
+        if (position == -1) {
+            addToRestSums(index, -1);
+            setRestValues(index,
+                          sectorRadiusValue,
+                          sectorAngleValue,
+                          sectorColorIntensityValue,
+                          source.size());
+            addToRestSums(index, 1);
+        } else {
+            siftDown(siftUp(position));
+        }
+
+        rebalance();
+    }
+
+    /**
+     * Removes the {@code index}th entry in linear time, shifting the indices
+     * of the subsequent entries.
+     *
+     * @param index the index of the entry.
+     */
+    public void remove(int index) {
+        int size = source.size();
+        Objects.checkIndex(index, size);
+
+        if (heapPositions[index] != -1) {
+            removeFromHeap(heapPositions[index]);
+        } else {
+            addToRestSums(index, -1);
+        }
+
+        source.remove(index);
+
+        int length = size - index - 1;
+
+        System.arraycopy(restRadiusValues,
+                         index + 1,
+                         restRadiusValues,
+                         index,
+                         length);
+
+        System.arraycopy(restAngleValues,
+                         index + 1,
+                         restAngleValues,
+                         index,
+                         length);
+
+        System.arraycopy(restIntensityValues,
+                         index + 1,
+                         restIntensityValues,
+                         index,
+                         length);
+
+        System.arraycopy(heapPositions,
+                         index + 1,
+                         heapPositions,
+                         index,
+                         length);
+
+        for (int position = 0; position < heapSize; position++) {
+            if (heap[position] > index) {
+                heap[position]--;
+            }
+        }
+
+        restRadiusValueTree.invalidate();
+        restAngleValueTree.invalidate();
+        restIntensityValueTree.invalidate();
+        rebalance();
+    }
+
+    public void clear() {
+        source.clear();
+        heapSize = 0;
+        clearRestSums();
+        restRadiusValueTree.invalidate();
+        restAngleValueTree.invalidate();
+        restIntensityValueTree.invalidate();
+    }
+
+    /**
+     * Writes the top entries in the order of their indices, followed by the
+     * "other" sector if any entries remain, into {@code data}, which is
+     * resized to fit. Runs in {@code O(K log K)} time.
+     *
+     * @param data the target data.
+     * @return the number of the published sectors.
+     */
+    public int publishTo(PieChart3DData data) {
+        Objects.requireNonNull(data, "The data is null.");
+
+        System.arraycopy(heap, 0, publishedSourceIndices, 0, heapSize);
+        Arrays.sort(publishedSourceIndices, 0, heapSize);
+
+        for (int i = 0; i < heapSize; i++) {
+            int index = publishedSourceIndices[i];
+            publishedRadiusValues   [i] = source.getSectorRadiusValue(index);
+            publishedAngleValues    [i] = source.getSectorAngleValue(index);
+            publishedIntensityValues[i] =
+                    source.getSectorColorIntensityValue(index);
+        }
+
+        int numberOfSectors = heapSize;
+
+        if (numberOfRestEntries > 0) {
+            double otherAngleValue = nonNegative(restAngleValueSum.get());
+
+            publishedAngleValues[heapSize] = otherAngleValue;
+            publishedRadiusValues[heapSize] =
+                    reduceRest(otherRadiusReduction,
+                               restRadiusValueTree,
+                               restRadiusValues,
+                               restRadiusValueSum.get(),
+                               restWeightedRadiusValueSum.get(),
+                               otherAngleValue);
+
+            publishedIntensityValues[heapSize] =
+                    reduceRest(otherColorIntensityReduction,
+                               restIntensityValueTree,
+                               restIntensityValues,
+                               restColorIntensityValueSum.get(),
+                               restWeightedColorIntensityValueSum.get(),
+                               otherAngleValue);
+
+            numberOfSectors++;
+        }
+
+        int dataSize = data.size();
+        int numberOfSetSectors = Math.min(dataSize, numberOfSectors);
+        int numberOfPublished = numberOfSectors;
+
+        data.batch(d -> {
+            d.setRange(0,
+                       publishedRadiusValues,
+                       publishedAngleValues,
+                       publishedIntensityValues,
+                       0,
+                       numberOfSetSectors);
+
+            if (dataSize < numberOfPublished) {
+                d.addAll(dataSize,
+                         publishedRadiusValues,
+                         publishedAngleValues,
+                         publishedIntensityValues,
+                         dataSize,
+                         numberOfPublished - dataSize);
+            } else {
+                d.removeRange(numberOfPublished, dataSize);
+            }
+        });
+
+        numberOfPublishedSectors    = numberOfSectors;
+        numberOfPublishedTopSectors = heapSize;
+        return numberOfSectors;
+    }
+
+    /**
+     * Maps a sector of the last publication to its entry, for example after
+     * {@link PieChart3D#sectorAt(double, double)}.
+     *
+     * @param sectorIndex the index of the published sector.
+     * @return the index of the entry, or -1 for the "other" sector.
+     */
+    public int getSourceIndex(int sectorIndex) {
+        Objects.checkIndex(sectorIndex, numberOfPublishedSectors);
+
+        return sectorIndex < numberOfPublishedTopSectors ?
+               publishedSourceIndices[sectorIndex] :
+               -1;
+    }
+
+    /**
+     * Restores the heap invariant: the heap holds {@code min(K, size)}
+     * entries, and no remaining entry has a larger angle value than the
+     * smallest top entry.
+     */
+    private void rebalance() {
+        int size = source.size();
+
+        while (heapSize < k && heapSize < size) {
+            promote(restAngleValueTree.getMaximumIndex(restAngleValues, size));
+        }
+
+        while (heapSize > 0 && heapSize < size) {
+            int best = restAngleValueTree.getMaximumIndex(restAngleValues,
+                                                          size);
+
+            if (!(restAngleValues[best] > getHeapKey(0))) {
+                return;
+            }
+
+            int worst = heap[0];
+            removeFromHeap(0);
+            setRestValues(worst,
+                          source.getSectorRadiusValue(worst),
+                          source.getSectorAngleValue(worst),
+                          source.getSectorColorIntensityValue(worst),
+                          size);
+            addToRestSums(worst, 1);
+            promote(best);
+        }
+    }
+
+    /**
+     * Moves the {@code index}th entry from the rest to the heap.
+     *
+     * @param index the index of the entry.
+     */
+    private void promote(int index) {
+        addToRestSums(index, -1);
+        setRestValues(index,
+                      Double.NEGATIVE_INFINITY,
+                      Double.NEGATIVE_INFINITY,
+                      Double.NEGATIVE_INFINITY,
+                      source.size());
+
+        heap[heapSize] = index;
+        heapPositions[index] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    private void removeFromHeap(int position) {
+        int removed = heap[position];
+        int last = heap[--heapSize];
+        heapPositions[removed] = -1;
+
+        if (position != heapSize) {
+            heap[position] = last;
+            heapPositions[last] = position;
+            siftDown(siftUp(position));
+        }
+    }
+
+    private int siftUp(int position) {
+        int index = heap[position];
+        double key = source.getSectorAngleValue(index);
+
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+
+            if (getHeapKey(parent) <= key) {
+                break;
+            }
+
+            heap[position] = heap[parent];
+            heapPositions[heap[position]] = position;
+            position = parent;
+        }
+
+        heap[position] = index;
+        heapPositions[index] = position;
+        return position;
+    }
+
+    private void siftDown(int position) {
+        int index = heap[position];
+        double key = source.getSectorAngleValue(index);
+
+        while (true) {
+            int child = 2 * position + 1;
+
+            if (child >= heapSize) {
+                break;
+            }
+
+            if (child + 1 < heapSize
+                    && getHeapKey(child + 1) < getHeapKey(child)) {
+                child++;
+            }
+
+            if (key <= getHeapKey(child)) {
+                break;
+            }
+
+            heap[position] = heap[child];
+            heapPositions[heap[position]] = position;
+            position = child;
+        }
+
+        heap[position] = index;
+        heapPositions[index] = position;
+    }
+
+    private double getHeapKey(int position) {
+        return source.getSectorAngleValue(heap[position]);
+    }
+
+    private void setRestValues(int index,
+                               double radiusValue,
+                               double angleValue,
+                               double intensityValue,
+                               int size) {
+        restRadiusValues   [index] = radiusValue;
+        restAngleValues    [index] = angleValue;
+        restIntensityValues[index] = intensityValue;
+        restRadiusValueTree   .update(index, radiusValue, size);
+        restAngleValueTree    .update(index, angleValue, size);
+        restIntensityValueTree.update(index, intensityValue, size);
+    }
+
+    /**
+     * Adds the values of the remaining {@code index}th entry to, or
+     * subtracts them from, the rest sums. The rest values of the entry must
+     * be set. The sums restart from zero whenever the rest becomes empty.
+     *
+     * @param index the index of the entry.
+     * @param sign  1 for adding, -1 for subtracting.
+     */
+    private void addToRestSums(int index, int sign) {
+        numberOfRestEntries += sign;
+
+        if (numberOfRestEntries == 0) {
+            clearRestSums();
+            return;
+        }
+
+        double radiusValue    = restRadiusValues[index];
+        double angleValue     = restAngleValues[index];
+        double intensityValue = restIntensityValues[index];
+
+        restRadiusValueSum        .add(sign * radiusValue);
+        restAngleValueSum         .add(sign * angleValue);
+        restColorIntensityValueSum.add(sign * intensityValue);
+        restWeightedRadiusValueSum.add(sign * radiusValue * angleValue);
+        restWeightedColorIntensityValueSum.add(
+                sign * intensityValue * angleValue);
+    }
+
+    private void clearRestSums() {
+        numberOfRestEntries = 0;
+        restRadiusValueSum                .clear();
+        restAngleValueSum                 .clear();
+        restColorIntensityValueSum        .clear();
+        restWeightedRadiusValueSum        .clear();
+        restWeightedColorIntensityValueSum.clear();
+    }
+
+    private double reduceRest(SectorReduction reduction,
+                              MaximumTree restTree,
+                              double[] restValues,
+                              double restSum,
+                              double restWeightedSum,
+                              double restAngleValueSum) {
+        switch (reduction) {
+            case MAXIMUM:
+                return restTree.getMaximum(restValues, source.size());
+
+            case MEAN:
+                return nonNegative(restSum / numberOfRestEntries);
+
+            default:
+                return restAngleValueSum == 0.0 ?
+                       0.0 :
+                       nonNegative(restWeightedSum / restAngleValueSum);
+        }
+    }
+
+    /**
+     * Drops the sign of a rest sum that is zero up to its rounding error,
+     * which may be negative when all the remaining values are zero.
+     *
+     * @param value the rest sum or the quotient of one.
+     * @return {@code value}, or zero if it is negative.
+     */
+    private static double nonNegative(double value) {
+        return value < 0.0 ? 0.0 : value;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (heapPositions.length >= capacity) {
+            return;
+        }
+
+        int nextCapacity = Math.max(capacity,
+                                    heapPositions.length
+                                 + (heapPositions.length >> 1));
+
+        restRadiusValues    = Arrays.copyOf(restRadiusValues, nextCapacity);
+        restAngleValues     = Arrays.copyOf(restAngleValues, nextCapacity);
+        restIntensityValues = Arrays.copyOf(restIntensityValues,
+                                            nextCapacity);
+        heapPositions       = Arrays.copyOf(heapPositions, nextCapacity);
+    }
+
+    /**
+     * Implements a running sum with Neumaier's compensation. An entry may
+     * pass through the rest on its way into the heap, so a large value is
+     * often added and subtracted again; the compensation keeps its rounding
+     * error from swamping the small remaining values.
+     */
+    private static final class CompensatedSum {
+
+        private double sum;
+        private double compensation;
+
+        void add(double value) {
+            double nextSum = sum + value;
+
+            if (Math.abs(sum) >= Math.abs(value)) {
+                compensation += (sum - nextSum) + value;
+            } else {
+                compensation += (value - nextSum) + sum;
+            }
+
+            sum = nextSum;
+        }
+
+        double get() {
+            return sum + compensation;
+        }
+
+        void clear() {
+            sum          = 0.0;
+            compensation = 0.0;
+        }
+    }
+}
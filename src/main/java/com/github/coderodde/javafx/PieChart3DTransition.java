@@ -0,0 +1,321 @@
+package com.github.coderodde.javafx;
+
+import java.util.Arrays;
+import java.util.Objects;
+import javafx.animation.AnimationTimer;
+import javafx.animation.Interpolator;
+import javafx.util.Duration;
+
+/**
+ * This class animates a pie chart from its current data to a target data set
+ * over a given duration. On every pulse, the sector values and optionally the
+ * angle offset are interpolated into preallocated buffers and written into
+ * the chart data in bulk, so no objects are allocated per frame.
+ * <p>
+ * The sectors are matched by index. The sectors missing from the current
+ * data are appended with zero angle and radius values and grow to their
+ * target values; the sectors missing from the target shrink to zero and are
+ * removed at the end of the transition.
+ * <p>
+ * All the methods must be called on the JavaFX application thread. If the
+ * chart data is resized by other means during a transition, the transition
+ * stops.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class PieChart3DTransition {
+
+    private final PieChart3D chart;
+
+    private Interpolator interpolator = Interpolator.EASE_BOTH;
+    private Runnable onFinished;
+
+    // The start and the end values of the sectors, and the interpolated
+    // values of the current frame:
+    private double[] fromRadiusValues    = new double[0];
+    private double[] fromAngleValues     = new double[0];
+    private double[] fromIntensityValues = new double[0];
+    private double[] toRadiusValues      = new double[0];
+    private double[] toAngleValues       = new double[0];
+    private double[] toIntensityValues   = new double[0];
+    private double[] frameRadiusValues   = new double[0];
+    private double[] frameAngleValues    = new double[0];
+    private double[] frameIntensityValues = new double[0];
+
+    /**
+     * The number of the interpolated sectors.
+     */
+    private int numberOfSectors;
+
+    /**
+     * The number of the sectors left after the transition.
+     */
+    private int targetSize;
+
+    private boolean animateAngleOffset;
+    private double fromAngleOffset;
+
+    /**
+     * The signed rotation from {@link #fromAngleOffset} to the target angle
+     * offset along the shorter arc, in {@code [-180, 180)}.
+     */
+    private double angleOffsetDelta;
+
+    private long durationNanos;
+
+    /**
+     * The time stamp of the first frame, or -1 if the first frame is pending.
+     */
+    private long startNanos = -1L;
+
+    private boolean running;
+
+    private final AnimationTimer timer = new AnimationTimer() {
+
+        @Override
+        public void handle(long now) {
+            handleFrame(now);
+        }
+    };
+
+    public PieChart3DTransition(PieChart3D chart) {
+        this.chart = Objects.requireNonNull(chart, "The chart is null.");
+    }
+
+    public PieChart3D getChart() {
+        return chart;
+    }
+
+    public Interpolator getInterpolator() {
+        return interpolator;
+    }
+
+    public void setInterpolator(Interpolator interpolator) {
+        this.interpolator =
+                Objects.requireNonNull(interpolator,
+                                       "The interpolator is null.");
+    }
+
+    public Runnable getOnFinished() {
+        return onFinished;
+    }
+
+    /**
+     * Sets the action run after a transition reaches its target.
+     *
+     * @param onFinished the action, or {@code null} for none.
+     */
+    public void setOnFinished(Runnable onFinished) {
+        this.onFinished = onFinished;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts a transition of the chart data to {@code target}, leaving the
+     * angle offset as is. A running transition is replaced, continuing from
+     * the current values.
+     *
+     * @param target   the target data, which is copied.
+     * @param duration the duration of the transition.
+     */
+    public void start(PieChart3DData target, Duration duration) {
+        start(target, chart.getAngleOffset(), false, duration);
+    }
+
+    /**
+     * Starts a transition of the chart data to {@code target} and of the
+     * angle offset to {@code targetAngleOffset}. A running transition is
+     * replaced, continuing from the current values.
+     *
+     * @param target            the target data, which is copied.
+     * @param targetAngleOffset the target angle offset, validated like in
+     *                          {@link PieChart3D#setAngleOffset(double)}.
+     * @param duration          the duration of the transition.
+     */
+    public void start(PieChart3DData target,
+                      double targetAngleOffset,
+                      Duration duration) {
+        start(target, targetAngleOffset, true, duration);
+    }
+
+    /**
+     * Stops the running transition, leaving the chart at the current frame.
+     * The sectors that were shrinking are kept.
+     */
+    public void stop() {
+        timer.stop();
+        running = false;
+    }
+
+    private void start(PieChart3DData target,
+                       double targetAngleOffset,
+                       boolean animateAngleOffset,
+                       Duration duration) {
+        Objects.requireNonNull(target, "The target data is null.");
+        Objects.requireNonNull(duration, "The duration is null.");
+
+        if (duration.lessThan(Duration.ZERO) || duration.isIndefinite()
+                                             || duration.isUnknown()) {
+            throw new IllegalArgumentException(
+                    "Invalid duration: " + duration + ".");
+        }
+
+        // Fail here rather than in the middle of the animation:
+        targetAngleOffset =
+                PieChart3DLayout.normalizeAngleOffset(targetAngleOffset);
+
+        PieChart3DData data = chart.getData();
+        int currentSize = data.size();
+
+        targetSize = target.size();
+        numberOfSectors = Math.max(currentSize, targetSize);
+        ensureBufferCapacity(numberOfSectors);
+
+        copyValues(data, fromRadiusValues, fromAngleValues,
+                   fromIntensityValues, currentSize);
+        copyValues(target, toRadiusValues, toAngleValues,
+                   toIntensityValues, targetSize);
+
+        // The appearing sectors grow from zero in their target color, the
+        // disappearing ones shrink to zero in their current color:
+        for (int i = currentSize; i < numberOfSectors; i++) {
+            fromRadiusValues[i]    = 0.0;
+            fromAngleValues[i]     = 0.0;
+            fromIntensityValues[i] = toIntensityValues[i];
+        }
+
+        for (int i = targetSize; i < numberOfSectors; i++) {
+            toRadiusValues[i]    = 0.0;
+            toAngleValues[i]     = 0.0;
+            toIntensityValues[i] = fromIntensityValues[i];
+        }
+
+        if (numberOfSectors > currentSize) {
+            data.addAll(currentSize,
+                        fromRadiusValues,
+                        fromAngleValues,
+                        fromIntensityValues,
+                        currentSize,
+                        numberOfSectors - currentSize);
+        }
+
+        this.animateAngleOffset = animateAngleOffset;
+        this.fromAngleOffset    = chart.getAngleOffset();
+        this.angleOffsetDelta   =
+                getShortestRotation(fromAngleOffset, targetAngleOffset);
+        this.durationNanos      = (long) (duration.toMillis() * 1_000_000.0);
+        this.startNanos         = -1L;
+
+        running = true;
+        timer.start();
+    }
+
+    private void handleFrame(long now) {
+        if (startNanos == -1L) {
+            startNanos = now;
+        }
+
+        double fraction = durationNanos == 0L ?
+                          1.0 :
+                          Math.min(1.0, (double) (now - startNanos)
+                                                / durationNanos);
+
+        double t = interpolator.interpolate(0.0, 1.0, fraction);
+
+        for (int i = 0; i < numberOfSectors; i++) {
+            frameRadiusValues[i] =
+                    interpolate(fromRadiusValues[i], toRadiusValues[i], t);
+            frameAngleValues[i] =
+                    interpolate(fromAngleValues[i], toAngleValues[i], t);
+            frameIntensityValues[i] =
+                    interpolate(fromIntensityValues[i],
+                                toIntensityValues[i],
+                                t);
+        }
+
+        PieChart3DData data = chart.getData();
+
+        if (data.size() != numberOfSectors) {
+            // The data was resized behind our back; give up:
+            stop();
+            return;
+        }
+
+        data.setRange(0,
+                      frameRadiusValues,
+                      frameAngleValues,
+                      frameIntensityValues,
+                      0,
+                      numberOfSectors);
+
+        if (fraction == 1.0 && targetSize < numberOfSectors) {
+            data.removeRange(targetSize, numberOfSectors);
+        }
+
+        if (animateAngleOffset) {
+            chart.setAngleOffset(fromAngleOffset + angleOffsetDelta * t);
+        }
+
+        chart.draw();
+
+        if (fraction == 1.0) {
+            stop();
+
+            if (onFinished != null) {
+                onFinished.run();
+            }
+        }
+    }
+
+    private void ensureBufferCapacity(int capacity) {
+        if (capacity <= frameRadiusValues.length) {
+            return;
+        }
+
+        fromRadiusValues     = Arrays.copyOf(fromRadiusValues, capacity);
+        fromAngleValues      = Arrays.copyOf(fromAngleValues, capacity);
+        fromIntensityValues  = Arrays.copyOf(fromIntensityValues, capacity);
+        toRadiusValues       = Arrays.copyOf(toRadiusValues, capacity);
+        toAngleValues        = Arrays.copyOf(toAngleValues, capacity);
+        toIntensityValues    = Arrays.copyOf(toIntensityValues, capacity);
+        frameRadiusValues    = Arrays.copyOf(frameRadiusValues, capacity);
+        frameAngleValues     = Arrays.copyOf(frameAngleValues, capacity);
+        frameIntensityValues = Arrays.copyOf(frameIntensityValues, capacity);
+    }
+
+    private static void copyValues(PieChart3DData data,
+                                   double[] radiusValues,
+                                   double[] angleValues,
+                                   double[] intensityValues,
+                                   int size) {
+        System.arraycopy(data.sectorRadiusValues(), 0, radiusValues, 0, size);
+        System.arraycopy(data.sectorAngleValues(), 0, angleValues, 0, size);
+        System.arraycopy(data.sectorColorIntensityValues(),
+                         0,
+                         intensityValues,
+                         0,
+                         size);
+    }
+
+    private static double interpolate(double from, double to, double t) {
+        // Clamped, since an overshooting interpolator must not produce
+        // negative sector values:
+        return Math.max(0.0, from + (to - from) * t);
+    }
+
+    /**
+     * Returns the rotation from {@code fromAngle} to {@code toAngle} along the
+     * shorter arc, so that turning from 350 to 10 degrees takes 20 degrees
+     * rather than -340.
+     */
+    private static double getShortestRotation(double fromAngle,
+                                              double toAngle) {
+        double delta = (toAngle - fromAngle) % 360.0;
+        return (delta + 540.0) % 360.0 - 180.0;
+    }
+}
@@ -0,0 +1,482 @@
+package com.github.coderodde.javafx;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import javafx.application.ConditionalFeature;
+import javafx.application.Platform;
+import javafx.scene.CacheHint;
+import javafx.scene.Group;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Arc;
+import javafx.scene.shape.ArcType;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Rotate;
+
+/**
+ * This class implements a retained-mode counterpart of {@link PieChart3D}.
+ * Instead of drawing the sectors into a canvas on every {@link #draw()}, the
+ * view keeps a pool of {@link Arc} nodes, one per drawn wedge, and
+ * {@code draw()} only updates the properties of the nodes whose sectors
+ * changed, so the rendering pipeline can keep reusing the geometry of the
+ * rest. The sectors are laid out with zero angle offset and rotated by a
+ * single {@link Rotate} transform, so changing the angle offset takes effect
+ * immediately and touches no sector node at all.
+ * <p>
+ * The view works on any rendering pipeline. JavaFX falls back to the
+ * software pipeline on machines without a supported GPU; in that case, see
+ * {@link #isHardwareAccelerated()}, the sector nodes are additionally cached
+ * as a bitmap that is only rotated while the sectors stay intact. For very
+ * large numbers of sectors, consider enabling the level of detail, which
+ * bounds the number of nodes.
+ * <p>
+ * The view renders a {@link PieChart3DData} just like {@link PieChart3D}. A
+ * data object should be rendered by a single view or chart at a time, since
+ * the renderer tracks the changed range of the data between the draws.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class PieChart3DView extends Region {
+
+    private final double dimension;
+    private final PieChart3DData data;
+    private final PieChart3DColors colors = new PieChart3DColors();
+
+    // The level of detail settings:
+    private double minimumSectorArcLength = 0.0;
+    private SectorReduction sectorRadiusReduction = SectorReduction.MAXIMUM;
+    private SectorReduction sectorColorIntensityReduction =
+            SectorReduction.MAXIMUM;
+
+    // The nodes of this view from the bottom up:
+    private final Rectangle box;
+    private final Circle background;
+    private final Group sectorGroup = new Group();
+    private final Rotate rotation;
+
+    /**
+     * The pool of the sector nodes. The first {@link #numberOfVisibleArcs}
+     * nodes show the wedges; the rest are hidden and reused on growth.
+     */
+    private final List<Arc> arcs = new ArrayList<>();
+
+    private int numberOfVisibleArcs;
+
+    /**
+     * Caches the geometry and the colors of the sectors.
+     */
+    private final PieChart3DLayout layout = new PieChart3DLayout();
+
+    /**
+     * Counts the modifications of the settings affecting the sector nodes.
+     */
+    private long generation;
+
+    // The state at the time of the last draw:
+    private long drawnGeneration = -1L;
+    private long drawnModificationCount = -1L;
+    private double drawnSumOfRelativeAngles;
+    private double drawnMaximumRadiusValue;
+    private double drawnMaximumColorIntensityValue;
+
+    /**
+     * Schedules the draws requested by {@link #requestDraw()}.
+     */
+    private final PieChart3DRenderLoop renderLoop =
+            new PieChart3DRenderLoop(this::draw);
+
+    public PieChart3DView(double dimension) {
+        this(dimension, new PieChart3DData());
+    }
+
+    /**
+     * Constructs a view over the given columnar data. All the subsequent
+     * modifications of this view are reflected in {@code data} and vice
+     * versa.
+     *
+     * @param dimension the width and the height of the view.
+     * @param data      the data to chart.
+     */
+    public PieChart3DView(double dimension, PieChart3DData data) {
+        PieChart3DLayout.checkDimension(dimension);
+        this.dimension = dimension;
+        this.data = Objects.requireNonNull(data, "The data is null.");
+
+        double center = dimension / 2.0;
+
+        box        = new Rectangle(dimension,
+                                   dimension,
+                                   colors.getBoxColor());
+        background = new Circle(center,
+                                center,
+                                center,
+                                colors.getChartBackgroundColor());
+        rotation   = new Rotate(0.0, center, center);
+
+        sectorGroup.getTransforms().add(rotation);
+
+        if (!isHardwareAccelerated()) {
+            sectorGroup.setCache(true);
+            sectorGroup.setCacheHint(CacheHint.ROTATE);
+        }
+
+        getChildren().addAll(box, background, sectorGroup);
+        setMinSize(dimension, dimension);
+        setPrefSize(dimension, dimension);
+        setMaxSize(dimension, dimension);
+    }
+
+    /**
+     * Returns {@code true} if the scene graph is rendered by a GPU pipeline,
+     * as indicated by the support of 3D scenes. Otherwise, JavaFX renders
+     * with the software pipeline.
+     *
+     * @return {@code true} if the rendering is hardware accelerated.
+     */
+    public static boolean isHardwareAccelerated() {
+        return Platform.isSupported(ConditionalFeature.SCENE3D);
+    }
+
+    public double getDimension() {
+        return dimension;
+    }
+
+    public PieChart3DData getData() {
+        return data;
+    }
+
+    public Color getBoxBackgroundColor() {
+        return colors.getBoxColor();
+    }
+
+    public Color getChartBackgroundColor() {
+        return colors.getChartBackgroundColor();
+    }
+
+    public Color getOriginalIntensityColor() {
+        return colors.getOriginalIntensityColor();
+    }
+
+    public double getAngleOffset() {
+        return rotation.getAngle();
+    }
+
+    public void setBoxBackgroundColor(Color boxColor) {
+        colors.setBoxColor(boxColor);
+        box.setFill(boxColor);
+    }
+
+    public void setChartBackgroundColor(Color chartBackgroundColor) {
+        colors.setChartBackgroundColor(chartBackgroundColor);
+        background.setFill(chartBackgroundColor);
+    }
+
+    public void setOriginalIntensityColor(Color originalIntensityColor) {
+        colors.setOriginalIntensityColor(originalIntensityColor);
+        generation++;
+    }
+
+    public int getColorPaletteSize() {
+        return colors.getColorPaletteSize();
+    }
+
+    /**
+     * Enables or disables the quantized intensity palette. See
+     * {@link PieChart3D#setColorPaletteSize(int)}.
+     *
+     * @param numberOfLevels the number of palette levels, or zero.
+     */
+    public void setColorPaletteSize(int numberOfLevels) {
+        colors.setColorPaletteSize(numberOfLevels);
+        generation++;
+    }
+
+    /**
+     * Sets the angle offset. Takes effect without a {@link #draw()}.
+     *
+     * @param angleOffset the angle offset in degrees.
+     */
+    public void setAngleOffset(double angleOffset) {
+        rotation.setAngle(PieChart3DLayout.normalizeAngleOffset(angleOffset));
+    }
+
+    public double getMinimumSectorArcLength() {
+        return minimumSectorArcLength;
+    }
+
+    public SectorReduction getSectorRadiusReduction() {
+        return sectorRadiusReduction;
+    }
+
+    public SectorReduction getSectorColorIntensityReduction() {
+        return sectorColorIntensityReduction;
+    }
+
+    /**
+     * Sets the level of detail. See
+     * {@link PieChart3D#setMinimumSectorArcLength(double)}. With the level of
+     * detail enabled, the number of the sector nodes is bounded by the
+     * circumference of the view.
+     *
+     * @param minimumSectorArcLength the threshold arc length in pixels.
+     */
+    public void setMinimumSectorArcLength(double minimumSectorArcLength) {
+        PieChart3DLayout.checkMinimumSectorArcLength(minimumSectorArcLength);
+        this.minimumSectorArcLength = minimumSectorArcLength;
+        updateLevelOfDetail();
+    }
+
+    public void setSectorRadiusReduction(
+            SectorReduction sectorRadiusReduction) {
+        this.sectorRadiusReduction =
+                Objects.requireNonNull(
+                        sectorRadiusReduction,
+                        "The sector radius reduction is null.");
+        updateLevelOfDetail();
+    }
+
+    public void setSectorColorIntensityReduction(
+            SectorReduction sectorColorIntensityReduction) {
+        this.sectorColorIntensityReduction =
+                Objects.requireNonNull(
+                        sectorColorIntensityReduction,
+                        "The sector color intensity reduction is null.");
+        updateLevelOfDetail();
+    }
+
+    public PieChart3DEntry get(int index) {
+        return data.get(index);
+    }
+
+    /**
+     * Returns the index of the sector under the point {@code (x, y)} given in
+     * the local coordinates of this view. See
+     * {@link PieChart3D#sectorAt(double, double)}.
+     *
+     * @param x the {@code x}-coordinate of the point.
+     * @param y the {@code y}-coordinate of the point.
+     * @return the index of the sector under the point, or -1 if there is
+     *         none.
+     */
+    public int sectorAt(double x, double y) {
+        return PieChart3DLayout.findSectorAt(data,
+                                             x,
+                                             y,
+                                             dimension / 2.0,
+                                             getAngleOffset());
+    }
+
+    public PieChart3DEntry entryAt(double x, double y) {
+        int index = sectorAt(x, y);
+        return index == -1 ? null : data.get(index);
+    }
+
+    public void set(int index, PieChart3DEntry entry) {
+        data.set(index, entry);
+    }
+
+    public int size() {
+        return data.size();
+    }
+
+    public void add(PieChart3DEntry entry) {
+        data.add(entry);
+    }
+
+    public void add(int index, PieChart3DEntry entry) {
+        data.add(index, entry);
+    }
+
+    public void remove(int index) {
+        data.remove(index);
+    }
+
+    public void addAll(Collection<? extends PieChart3DEntry> entries) {
+        data.addAll(entries);
+    }
+
+    public void addAll(int index,
+                       Collection<? extends PieChart3DEntry> entries) {
+        data.addAll(index, entries);
+    }
+
+    public void setRange(int fromIndex,
+                         List<? extends PieChart3DEntry> entries) {
+        data.setRange(fromIndex, entries);
+    }
+
+    public void removeRange(int fromIndex, int toIndex) {
+        data.removeRange(fromIndex, toIndex);
+    }
+
+    /**
+     * Runs {@code mutator} on this view as a single modification of its
+     * data, and requests a single redraw afterwards.
+     *
+     * @param mutator the operation modifying this view.
+     */
+    public void batch(Consumer<? super PieChart3DView> mutator) {
+        Objects.requireNonNull(mutator, "The mutator is null.");
+
+        try {
+            data.batch(d -> mutator.accept(this));
+        } finally {
+            requestDraw();
+        }
+    }
+
+    /**
+     * Brings the sector nodes up to date with the data. Only the nodes of the
+     * changed sectors get their properties updated; returns immediately if
+     * nothing has changed since the previous call. Must be called on the
+     * JavaFX application thread.
+     */
+    public void draw() {
+        long modificationCount = data.getModificationCount();
+
+        if (drawnGeneration == generation
+                && drawnModificationCount == modificationCount) {
+            return;
+        }
+
+        layout.update(data,
+                      dimension,
+                      colors.getOriginalIntensityColor(),
+                      colors.getPalette());
+
+        int numberOfWedges = layout.getNumberOfWedges();
+        int fromWedge = 0;
+        int toWedge   = numberOfWedges;
+
+        if (canUpdateChangedRangeOnly()) {
+            int size      = data.size();
+            int fromIndex = Math.min(data.getChangedFromIndex(), size);
+            int toIndex   = Math.min(data.getChangedToIndex(), size);
+
+            fromWedge = layout.findWedgeIndex(layout.getStartAngle(fromIndex));
+            toWedge   = toIndex == size ?
+                        numberOfWedges :
+                        layout.findWedgeIndex(
+                                layout.getStartAngle(toIndex - 1)) + 1;
+        }
+
+        ensureArcs(numberOfWedges);
+
+        for (int i = fromWedge; i < toWedge; i++) {
+            updateArc(arcs.get(i), i);
+        }
+
+        for (int i = numberOfWedges; i < numberOfVisibleArcs; i++) {
+            arcs.get(i).setVisible(false);
+        }
+
+        for (int i = numberOfVisibleArcs; i < numberOfWedges; i++) {
+            arcs.get(i).setVisible(true);
+        }
+
+        numberOfVisibleArcs = numberOfWedges;
+
+        data.resetChangedRange();
+        drawnGeneration                 = generation;
+        drawnModificationCount          = modificationCount;
+        drawnSumOfRelativeAngles        = data.getSectorAngleValueSum();
+        drawnMaximumRadiusValue         = data.getMaximumSectorRadiusValue();
+        drawnMaximumColorIntensityValue =
+                data.getMaximumSectorColorIntensityValue();
+    }
+
+    /**
+     * Requests a {@link #draw()} on the JavaFX application thread. May be
+     * called from any thread; the requests made before the next frame are
+     * coalesced into a single draw. See {@link PieChart3D#requestDraw()}.
+     */
+    public void requestDraw() {
+        renderLoop.requestDraw();
+    }
+
+    public double getMaximumFrameRate() {
+        return renderLoop.getMaximumFrameRate();
+    }
+
+    /**
+     * Caps the rate of the draws scheduled by {@link #requestDraw()}. See
+     * {@link PieChart3D#setMaximumFrameRate(double)}.
+     *
+     * @param maximumFrameRate the maximum number of draws per second, or
+     *                         zero for drawing on every pulse.
+     */
+    public void setMaximumFrameRate(double maximumFrameRate) {
+        renderLoop.setMaximumFrameRate(maximumFrameRate);
+    }
+
+    private boolean canUpdateChangedRangeOnly() {
+        return drawnGeneration == generation
+            && data.getSectorAngleValueSum() > 0.0
+            && data.isChangedRangeValidSince(drawnModificationCount)
+            && drawnSumOfRelativeAngles == data.getSectorAngleValueSum()
+            && drawnMaximumRadiusValue == data.getMaximumSectorRadiusValue()
+            && drawnMaximumColorIntensityValue
+                == data.getMaximumSectorColorIntensityValue();
+    }
+
+    /**
+     * Grows the node pool to at least {@code capacity} nodes. The new nodes
+     * are added to the scene graph at once and hidden until used.
+     *
+     * @param capacity the requested number of nodes.
+     */
+    private void ensureArcs(int capacity) {
+        int size = arcs.size();
+
+        if (size >= capacity) {
+            return;
+        }
+
+        double center = dimension / 2.0;
+
+        for (int i = size; i < capacity; i++) {
+            Arc arc = new Arc();
+            arc.setType(ArcType.ROUND);
+            arc.setCenterX(center);
+            arc.setCenterY(center);
+            arc.setVisible(false);
+            arcs.add(arc);
+        }
+
+        sectorGroup.getChildren().addAll(arcs.subList(size, capacity));
+    }
+
+    /**
+     * Sets the properties of {@code arc} to the {@code index}th wedge. The
+     * properties keeping their values do not mark the node dirty.
+     *
+     * @param arc   the node to update.
+     * @param index the index of the wedge.
+     */
+    private void updateArc(Arc arc, int index) {
+        double radius = layout.getWedgeRadius(index);
+        Color color = layout.getWedgeColor(index);
+
+        arc.setRadiusX(radius);
+        arc.setRadiusY(radius);
+        arc.setStartAngle(90.0 - layout.getWedgeStartAngle(index + 1));
+        arc.setLength(layout.getWedgeSweepAngle(index));
+
+        if (!color.equals(arc.getFill())) {
+            arc.setFill(color);
+        }
+    }
+
+    private void updateLevelOfDetail() {
+        layout.setLevelOfDetail(minimumSectorArcLength,
+                                sectorRadiusReduction,
+                                sectorColorIntensityReduction);
+        generation++;
+    }
+}
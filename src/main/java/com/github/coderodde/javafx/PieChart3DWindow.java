@@ -0,0 +1,410 @@
+package com.github.coderodde.javafx;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class aggregates a stream of events into pie chart sectors over a
+ * sliding time window. Each event belongs to a sector and carries a radius
+ * sample and an intensity sample, for example a latency and an error
+ * indicator of {@code 0.0} or {@code 1.0}. The angle of a sector is the number
+ * of its events in the window, the radius and the intensity are the
+ * configured aggregations of the samples in the window.
+ * <p>
+ * The window consists of a ring of time buckets per sector. Recording an
+ * event updates its bucket and the running window totals in constant time.
+ * Expired buckets are subtracted from the totals lazily, when their sector is
+ * touched next, so the expiry costs amortized constant time per bucket. The
+ * maxima are recomputed from the buckets only when the expired bucket held
+ * the maximum.
+ * <p>
+ * Time stamps are plain {@code long} values in any unit, say milliseconds;
+ * the bucket length is given in the same unit. This class is not
+ * thread-safe.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public final class PieChart3DWindow {
+
+    /**
+     * This enumeration lists the aggregations of the samples in the window.
+     */
+    public enum Aggregation {
+
+        /**
+         * The sum of the samples.
+         */
+        SUM,
+
+        /**
+         * The arithmetic mean of the samples, or zero if there are none.
+         */
+        MEAN,
+
+        /**
+         * The largest sample, or zero if there are none.
+         */
+        MAXIMUM;
+    }
+
+    private final int numberOfSectors;
+    private final int numberOfBuckets;
+    private final long bucketLength;
+
+    private Aggregation radiusAggregation    = Aggregation.MEAN;
+    private Aggregation intensityAggregation = Aggregation.MEAN;
+
+    // The buckets of the sector s occupy the indices
+    // [s * numberOfBuckets, (s + 1) * numberOfBuckets):
+    private final double[] bucketCounts;
+    private final double[] bucketRadiusSums;
+    private final double[] bucketRadiusMaxima;
+    private final double[] bucketIntensitySums;
+    private final double[] bucketIntensityMaxima;
+
+    /**
+     * The absolute number of the newest bucket of each sector.
+     */
+    private final long[] newestBuckets;
+
+    // The running window totals of each sector:
+    private final double[] windowCounts;
+    private final double[] windowRadiusSums;
+    private final double[] windowIntensitySums;
+    private final double[] windowRadiusMaxima;
+    private final double[] windowIntensityMaxima;
+
+    /**
+     * Indicates whether the window maxima of a sector must be recomputed from
+     * its buckets.
+     */
+    private final boolean[] windowMaximaStale;
+
+    // The scratch columns for publishing:
+    private final double[] publishedRadiusValues;
+    private final double[] publishedAngleValues;
+    private final double[] publishedIntensityValues;
+
+    /**
+     * Constructs a window.
+     *
+     * @param numberOfSectors the number of sectors.
+     * @param numberOfBuckets the number of buckets in the window.
+     * @param bucketLength    the time span of a bucket.
+     */
+    public PieChart3DWindow(int numberOfSectors,
+                            int numberOfBuckets,
+                            long bucketLength) {
+        if (numberOfSectors < 0) {
+            throw new IllegalArgumentException(
+                    "The number of sectors is negative.");
+        }
+
+        if (numberOfBuckets <= 0) {
+            throw new IllegalArgumentException(
+                    "The number of buckets is non-positive.");
+        }
+
+        if (bucketLength <= 0L) {
+            throw new IllegalArgumentException(
+                    "The bucket length is non-positive.");
+        }
+
+        int numberOfCells = Math.multiplyExact(numberOfSectors,
+                                               numberOfBuckets);
+
+        this.numberOfSectors       = numberOfSectors;
+        this.numberOfBuckets       = numberOfBuckets;
+        this.bucketLength          = bucketLength;
+        this.bucketCounts          = new double[numberOfCells];
+        this.bucketRadiusSums      = new double[numberOfCells];
+        this.bucketRadiusMaxima    = new double[numberOfCells];
+        this.bucketIntensitySums   = new double[numberOfCells];
+        this.bucketIntensityMaxima = new double[numberOfCells];
+        this.newestBuckets         = new long[numberOfSectors];
+        this.windowCounts          = new double[numberOfSectors];
+        this.windowRadiusSums      = new double[numberOfSectors];
+        this.windowIntensitySums   = new double[numberOfSectors];
+        this.windowRadiusMaxima    = new double[numberOfSectors];
+        this.windowIntensityMaxima = new double[numberOfSectors];
+        this.windowMaximaStale     = new boolean[numberOfSectors];
+
+        this.publishedRadiusValues    = new double[numberOfSectors];
+        this.publishedAngleValues     = new double[numberOfSectors];
+        this.publishedIntensityValues = new double[numberOfSectors];
+
+        Arrays.fill(newestBuckets, Long.MIN_VALUE);
+    }
+
+    public int getNumberOfSectors() {
+        return numberOfSectors;
+    }
+
+    public int getNumberOfBuckets() {
+        return numberOfBuckets;
+    }
+
+    public long getBucketLength() {
+        return bucketLength;
+    }
+
+    public Aggregation getRadiusAggregation() {
+        return radiusAggregation;
+    }
+
+    public Aggregation getIntensityAggregation() {
+        return intensityAggregation;
+    }
+
+    public void setRadiusAggregation(Aggregation radiusAggregation) {
+        this.radiusAggregation =
+                Objects.requireNonNull(radiusAggregation,
+                                       "The radius aggregation is null.");
+    }
+
+    public void setIntensityAggregation(Aggregation intensityAggregation) {
+        this.intensityAggregation =
+                Objects.requireNonNull(intensityAggregation,
+                                       "The intensity aggregation is null.");
+    }
+
+    /**
+     * Records an event. The events older than the window of their sector are
+     * ignored.
+     *
+     * @param sector          the index of the sector.
+     * @param time            the time stamp of the event.
+     * @param radiusSample    the radius sample.
+     * @param intensitySample the intensity sample.
+     */
+    public void record(int sector,
+                       long time,
+                       double radiusSample,
+                       double intensitySample) {
+        Objects.checkIndex(sector, numberOfSectors);
+        PieChart3DEntry.checkValue(radiusSample);
+        PieChart3DEntry.checkValue(intensitySample);
+
+        long bucket = Math.floorDiv(time, bucketLength);
+        advance(sector, bucket);
+
+        if (bucket <= newestBuckets[sector] - numberOfBuckets) {
+            // Too old:
+            return;
+        }
+
+        int cell = cellOf(sector, bucket);
+
+        bucketCounts[cell]++;
+        bucketRadiusSums[cell] += radiusSample;
+        bucketIntensitySums[cell] += intensitySample;
+        bucketRadiusMaxima[cell] =
+                Math.max(bucketRadiusMaxima[cell], radiusSample);
+        bucketIntensityMaxima[cell] =
+                Math.max(bucketIntensityMaxima[cell], intensitySample);
+
+        windowCounts[sector]++;
+        windowRadiusSums[sector] += radiusSample;
+        windowIntensitySums[sector] += intensitySample;
+
+        if (!windowMaximaStale[sector]) {
+            windowRadiusMaxima[sector] =
+                    Math.max(windowRadiusMaxima[sector], radiusSample);
+            windowIntensityMaxima[sector] =
+                    Math.max(windowIntensityMaxima[sector], intensitySample);
+        }
+    }
+
+    /**
+     * Returns the number of events of {@code sector} in the window ending at
+     * {@code time}.
+     *
+     * @param sector the index of the sector.
+     * @param time   the current time.
+     * @return the number of events in the window.
+     */
+    public double getCount(int sector, long time) {
+        Objects.checkIndex(sector, numberOfSectors);
+        advance(sector, Math.floorDiv(time, bucketLength));
+        return windowCounts[sector];
+    }
+
+    /**
+     * Expires the buckets older than the window ending at {@code time} and
+     * writes the window aggregates of all the sectors into {@code data}: the
+     * event counts as the angle values, and the aggregated samples as the
+     * radius and the color intensity values. If {@code data} has fewer
+     * sectors than this window, the missing ones are appended.
+     *
+     * @param data the target data.
+     * @param time the current time.
+     */
+    public void publishTo(PieChart3DData data, long time) {
+        Objects.requireNonNull(data, "The data is null.");
+
+        if (data.size() > numberOfSectors) {
+            throw new IllegalStateException(
+                    "The data has more sectors than the window: "
+                            + data.size()
+                            + " > "
+                            + numberOfSectors
+                            + ".");
+        }
+
+        long bucket = Math.floorDiv(time, bucketLength);
+
+        for (int sector = 0; sector < numberOfSectors; sector++) {
+            advance(sector, bucket);
+
+            if (windowMaximaStale[sector]) {
+                recomputeWindowMaxima(sector);
+            }
+
+            double count = windowCounts[sector];
+
+            publishedAngleValues[sector] = count;
+            publishedRadiusValues[sector] =
+                    aggregate(radiusAggregation,
+                              count,
+                              windowRadiusSums[sector],
+                              windowRadiusMaxima[sector]);
+
+            publishedIntensityValues[sector] =
+                    aggregate(intensityAggregation,
+                              count,
+                              windowIntensitySums[sector],
+                              windowIntensityMaxima[sector]);
+        }
+
+        int dataSize = data.size();
+
+        data.batch(d -> {
+            d.setRange(0,
+                       publishedRadiusValues,
+                       publishedAngleValues,
+                       publishedIntensityValues,
+                       0,
+                       dataSize);
+
+            d.addAll(dataSize,
+                     publishedRadiusValues,
+                     publishedAngleValues,
+                     publishedIntensityValues,
+                     dataSize,
+                     numberOfSectors - dataSize);
+        });
+    }
+
+    /**
+     * Moves the newest bucket of {@code sector} forward to {@code bucket},
+     * subtracting the expired buckets from the window totals.
+     */
+    private void advance(int sector, long bucket) {
+        long newestBucket = newestBuckets[sector];
+
+        if (bucket <= newestBucket) {
+            return;
+        }
+
+        newestBuckets[sector] = bucket;
+
+        if (newestBucket == Long.MIN_VALUE
+                || bucket - newestBucket >= numberOfBuckets) {
+            // The entire window expired:
+            clearSector(sector);
+            return;
+        }
+
+        for (long b = newestBucket + 1; b <= bucket; b++) {
+            expire(sector, cellOf(sector, b));
+        }
+
+        if (windowCounts[sector] == 0.0) {
+            // Get rid of the accumulated rounding error:
+            windowRadiusSums[sector]    = 0.0;
+            windowIntensitySums[sector] = 0.0;
+        }
+    }
+
+    private void expire(int sector, int cell) {
+        if (bucketCounts[cell] == 0.0) {
+            return;
+        }
+
+        windowCounts[sector]        -= bucketCounts[cell];
+        windowRadiusSums[sector]    -= bucketRadiusSums[cell];
+        windowIntensitySums[sector] -= bucketIntensitySums[cell];
+
+        if (bucketRadiusMaxima[cell] >= windowRadiusMaxima[sector]
+                || bucketIntensityMaxima[cell]
+                        >= windowIntensityMaxima[sector]) {
+            windowMaximaStale[sector] = true;
+        }
+
+        clearCell(cell);
+    }
+
+    private void clearSector(int sector) {
+        int fromCell = sector * numberOfBuckets;
+
+        for (int cell = fromCell; cell < fromCell + numberOfBuckets; cell++) {
+            clearCell(cell);
+        }
+
+        windowCounts[sector]          = 0.0;
+        windowRadiusSums[sector]      = 0.0;
+        windowIntensitySums[sector]   = 0.0;
+        windowRadiusMaxima[sector]    = 0.0;
+        windowIntensityMaxima[sector] = 0.0;
+        windowMaximaStale[sector]     = false;
+    }
+
+    private void clearCell(int cell) {
+        bucketCounts[cell]          = 0.0;
+        bucketRadiusSums[cell]      = 0.0;
+        bucketRadiusMaxima[cell]    = 0.0;
+        bucketIntensitySums[cell]   = 0.0;
+        bucketIntensityMaxima[cell] = 0.0;
+    }
+
+    private void recomputeWindowMaxima(int sector) {
+        double radiusMaximum = 0.0;
+        double intensityMaximum = 0.0;
+        int fromCell = sector * numberOfBuckets;
+
+        for (int cell = fromCell; cell < fromCell + numberOfBuckets; cell++) {
+            radiusMaximum = Math.max(radiusMaximum, bucketRadiusMaxima[cell]);
+            intensityMaximum = Math.max(intensityMaximum,
+                                        bucketIntensityMaxima[cell]);
+        }
+
+        windowRadiusMaxima[sector]    = radiusMaximum;
+        windowIntensityMaxima[sector] = intensityMaximum;
+        windowMaximaStale[sector]     = false;
+    }
+
+    private int cellOf(int sector, long bucket) {
+        return sector * numberOfBuckets
+             + (int) Math.floorMod(bucket, (long) numberOfBuckets);
+    }
+
+    private static double aggregate(Aggregation aggregation,
+                                    double count,
+                                    double sum,
+                                    double maximum) {
+        switch (aggregation) {
+            case SUM:
+                // Subtracting the expired buckets may leave a tiny negative
+                // rounding error:
+                return Math.max(sum, 0.0);
+
+            case MEAN:
+                return count == 0.0 ? 0.0 : Math.max(sum / count, 0.0);
+
+            default:
+                return maximum;
+        }
+    }
+}
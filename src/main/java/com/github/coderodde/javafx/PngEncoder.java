@@ -0,0 +1,189 @@
+package com.github.coderodde.javafx;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * This class implements a minimal PNG encoder for 8-bit RGBA images. It has
+ * no dependencies beyond {@code java.base}, so it works in headless
+ * environments without AWT or the JavaFX toolkit.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+final class PngEncoder {
+
+    private static final byte[] SIGNATURE = {
+        (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'
+    };
+
+    private static final int BIT_DEPTH = 8;
+    private static final int COLOR_TYPE_RGBA = 6;
+    private static final int FILTER_TYPE_SUB = 1;
+    private static final int BYTES_PER_PIXEL = 4;
+
+    /**
+     * Accumulates the data of the current chunk.
+     */
+    private final ByteArrayBuilder chunk = new ByteArrayBuilder();
+
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Holds the current filtered scanline.
+     */
+    private byte[] scanline = new byte[0];
+
+    /**
+     * Writes the {@code width * height} ARGB pixels starting at
+     * {@code offset} and separated by {@code scanlineStride} to {@code out}
+     * as a PNG image.
+     *
+     * @param pixels         the ARGB pixels.
+     * @param offset         the index of the top left pixel.
+     * @param scanlineStride the distance between the rows of pixels.
+     * @param width          the width of the image.
+     * @param height         the height of the image.
+     * @param out            the target stream.
+     * @throws IOException if writing to {@code out} fails.
+     */
+    void write(int[] pixels,
+               int offset,
+               int scanlineStride,
+               int width,
+               int height,
+               OutputStream out) throws IOException {
+        DataOutputStream dataOut = new DataOutputStream(out);
+        dataOut.write(SIGNATURE);
+
+        chunk.reset();
+        chunk.writeInt(width);
+        chunk.writeInt(height);
+        chunk.write(BIT_DEPTH);
+        chunk.write(COLOR_TYPE_RGBA);
+        chunk.write(0); // Compression method.
+        chunk.write(0); // Filter method.
+        chunk.write(0); // No interlacing.
+        writeChunk(dataOut, "IHDR");
+
+        chunk.reset();
+        int scanlineLength = 1 + BYTES_PER_PIXEL * width;
+
+        if (scanline.length < scanlineLength) {
+            scanline = new byte[scanlineLength];
+        }
+
+        Deflater deflater = new Deflater();
+
+        try (DeflaterOutputStream deflaterOut =
+                new DeflaterOutputStream(chunk, deflater)) {
+
+            for (int y = 0; y < height; y++) {
+                int rowOffset = offset + y * scanlineStride;
+                int previous = 0;
+                scanline[0] = FILTER_TYPE_SUB;
+
+                for (int x = 0; x < width; x++) {
+                    int argb = pixels[rowOffset + x];
+                    int i = 1 + BYTES_PER_PIXEL * x;
+
+                    // The Sub filter stores the differences to the bytes of 
+                    // the previous pixel:
+                    scanline[i]     = (byte) ((argb     >>> 16)
+                                            - (previous >>> 16));
+                    scanline[i + 1] = (byte) ((argb     >>> 8)
+                                            - (previous >>> 8));
+                    scanline[i + 2] = (byte) (argb - previous);
+                    scanline[i + 3] = (byte) ((argb     >>> 24)
+                                            - (previous >>> 24));
+                    previous = argb;
+                }
+
+                deflaterOut.write(scanline, 0, scanlineLength);
+            }
+        } finally {
+            deflater.end();
+        }
+
+        writeChunk(dataOut, "IDAT");
+
+        chunk.reset();
+        writeChunk(dataOut, "IEND");
+        dataOut.flush();
+    }
+
+    private void writeChunk(DataOutputStream out, String type)
+            throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+
+        crc.reset();
+        crc.update(typeBytes);
+        crc.update(chunk.buffer(), 0, chunk.size());
+
+        out.writeInt(chunk.size());
+        out.write(typeBytes);
+        out.write(chunk.buffer(), 0, chunk.size());
+        out.writeInt((int) crc.getValue());
+    }
+
+    /**
+     * A byte array output stream exposing its buffer, so that the chunk data
+     * is not copied for computing the checksum.
+     */
+    private static final class ByteArrayBuilder extends OutputStream {
+
+        private byte[] buffer = new byte[8192];
+        private int size;
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(size + 1);
+            buffer[size++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            ensureCapacity(size + length);
+            System.arraycopy(bytes, offset, buffer, size, length);
+            size += length;
+        }
+
+        // Closing the deflater stream closes this one; keep the data.
+        @Override
+        public void close() {}
+
+        void writeInt(int value) {
+            write(value >>> 24);
+            write(value >>> 16);
+            write(value >>> 8);
+            write(value);
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        byte[] buffer() {
+            return buffer;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > buffer.length) {
+                buffer = Arrays.copyOf(
+                        buffer,
+                        Math.max(capacity, 2 * buffer.length));
+            }
+        }
+    }
+}
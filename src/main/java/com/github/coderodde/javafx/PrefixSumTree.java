@@ -0,0 +1,179 @@
+package com.github.coderodde.javafx;
+
+import java.util.Arrays;
+
+/**
+ * This class implements a Fenwick tree over a prefix of a {@code double}
+ * array. It answers prefix sums and finds the value containing a given
+ * cumulative sum in logarithmic time. It supports point updates in squared
+ * logarithmic time, appends in logarithmic time and removals of the last
+ * value in constant time. Like {@link MaximumTree}, the insertions and
+ * removals in the middle of the array only mark the tree as stale; it is
+ * rebuilt in linear time on the next query.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+final class PrefixSumTree {
+
+    /**
+     * The array holding the tree. The node {@code k} (one-based) holds the
+     * sum of the values {@code k - lowbit(k)} (inclusive) through {@code k}
+     * (exclusive).
+     */
+    private double[] tree = new double[1];
+
+    /**
+     * The number of values covered by the tree.
+     */
+    private int size;
+
+    /**
+     * Indicates whether the tree must be rebuilt before the next query.
+     */
+    private boolean stale = true;
+
+    /**
+     * Returns the sum of the values {@code 0} (inclusive) through
+     * {@code toIndex} (exclusive).
+     *
+     * @param values  the values; must be the same array as in the last update.
+     * @param size    the number of meaningful values.
+     * @param toIndex the number of the summed values.
+     * @return the prefix sum.
+     */
+    double getPrefixSum(double[] values, int size, int toIndex) {
+        validate(values, size);
+        double sum = 0.0;
+
+        for (int node = toIndex; node > 0; node -= node & -node) {
+            sum += tree[node];
+        }
+
+        return sum;
+    }
+
+    /**
+     * Returns the index {@code i} such that the sum of the values before
+     * {@code i} is at most {@code target} and the sum including the value 
+     * {@code i} exceeds {@code target}. Zero values are never returned unless
+     * they are the last ones. The result is clamped to {@code size - 1}.
+     *
+     * @param values the values; must be the same array as in the last update.
+     * @param size   the number of meaningful values; must be positive.
+     * @param target the cumulative sum to look up.
+     * @return the index of the value containing {@code target}.
+     */
+    int findIndex(double[] values, int size, double target) {
+        validate(values, size);
+        int index = 0;
+
+        for (int step = Integer.highestOneBit(size); step > 0; step >>= 1) {
+            int node = index + step;
+
+            if (node <= size && tree[node] <= target) {
+                index = node;
+                target -= tree[node];
+            }
+        }
+
+        return Math.min(index, size - 1);
+    }
+
+    /**
+     * Notifies this tree that the value at {@code index} changed. The nodes
+     * covering the value are recomputed from their children rather than
+     * adjusted by the change, so that replacing a huge value does not cancel
+     * out the small ones summed with it.
+     *
+     * @param values the values.
+     * @param index  the index of the updated value.
+     */
+    void update(double[] values, int index) {
+        if (stale) {
+            return;
+        }
+
+        for (int node = index + 1; node <= size; node += node & -node) {
+            recompute(values, node);
+        }
+    }
+
+    /**
+     * Notifies this tree that {@code values[index]} was appended.
+     *
+     * @param values the values.
+     * @param index  the index of the appended value.
+     */
+    void append(double[] values, int index) {
+        if (stale) {
+            return;
+        }
+
+        int node = index + 1;
+
+        if (node >= tree.length) {
+            tree = Arrays.copyOf(tree, Math.max(node + 1, 2 * tree.length));
+        }
+
+        recompute(values, node);
+        size = node;
+    }
+
+    /**
+     * Notifies this tree that the last value was removed. The remaining 
+     * nodes do not depend on it.
+     */
+    void removeLast() {
+        if (!stale) {
+            size--;
+        }
+    }
+
+    /**
+     * Notifies this tree that the values were shifted and so it has to be
+     * rebuilt.
+     */
+    void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Sets the node {@code node} to the sum of its value and its children, in
+     * the same order as the rebuild in {@link #validate(double[], int)}.
+     */
+    private void recompute(double[] values, int node) {
+        double sum = values[node - 1];
+        int lowestBit = node & -node;
+
+        for (int step = lowestBit >> 1; step > 0; step >>= 1) {
+            sum += tree[node - step];
+        }
+
+        tree[node] = sum;
+    }
+
+    private void validate(double[] values, int size) {
+        if (!stale) {
+            return;
+        }
+
+        if (tree.length <= size) {
+            tree = new double[size + 1];
+        }
+
+        System.arraycopy(values, 0, tree, 1, size);
+
+        for (int node = 1; node <= size; node++) {
+            int parent = node + (node & -node);
+
+            if (parent <= size) {
+                tree[parent] += tree[node];
+            }
+        }
+
+        this.size = size;
+        stale = false;
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.coderodde.javafx;
+
+/**
+ * This enumeration lists the ways of reducing the radii or the color
+ * intensities of several sectors into a single value when the sectors are
+ * merged into one wedge.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 18, 2026)
+ * @since 1.7 (Oct 18, 2026)
+ */
+public enum SectorReduction {
+
+    /**
+     * The largest of the values.
+     */
+    MAXIMUM,
+
+    /**
+     * The arithmetic mean of the values.
+     */
+    MEAN,
+
+    /**
+     * The mean of the values weighted by the sector angles.
+     */
+    WEIGHTED_MEAN;
+
+    /**
+     * Accumulates {@code value} of a sector sweeping {@code weight} into
+     * {@code accumulator}.
+     *
+     * @param accumulator the current accumulator value.
+     * @param value       the value of the sector.
+     * @param weight      the weight of the sector.
+     * @return the next accumulator value.
+     */
+    double accumulate(double accumulator, double value, double weight) {
+        switch (this) {
+            case MAXIMUM:
+                return Math.max(accumulator, value);
+
+            case MEAN:
+                return accumulator + value;
+
+            default:
+                return accumulator + value * weight;
+        }
+    }
+
+    /**
+     * Finishes the reduction.
+     *
+     * @param accumulator     the accumulator value.
+     * @param numberOfValues  the number of accumulated values.
+     * @param totalWeight     the sum of the accumulated weights.
+     * @return the reduced value.
+     */
+    double finish(double accumulator, int numberOfValues, double totalWeight) {
+        switch (this) {
+            case MAXIMUM:
+                return accumulator;
+
+            case MEAN:
+                return accumulator / numberOfValues;
+
+            default:
+                return totalWeight == 0.0 ?
+                       0.0 :
+                       accumulator / totalWeight;
+        }
+    }
+}